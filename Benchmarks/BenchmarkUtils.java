@@ -0,0 +1,191 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Small benchmark harness used by the benchmarks in this folder. Every benchmark
+ * is run for a number of warmup rounds, so that the JIT compiler has settled,
+ * followed by measured rounds. Throughput is reported as operations per second
+ * and allocation as bytes allocated by the benchmark thread per operation and
+ * as allocation rate in megabytes per second.
+ *
+ * Garbage is collected after the warmup rounds, so collections of garbage left
+ * by earlier benchmarks, e.g. the per call state of a setup, do not land in
+ * the measured rounds of the next benchmark.
+ */
+public final class BenchmarkUtils {
+
+    /** Rounds run before and while measuring, which can be lowered for slow benchmarks of large libraries. */
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmupRounds", 5);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("benchmark.measuredRounds", 5);
+    private static final long ROUND_NANOS = 500_000_000L;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /** Stream results are reported to, even if standard output has been silenced. */
+    private static final PrintStream REPORT = System.out;
+
+    /** Result of the last benchmark body, kept so the JIT cannot remove the work. */
+    private static volatile Object sink;
+
+    private BenchmarkUtils() {
+        throw new UnsupportedOperationException("Constructor is not to be used for static utils collection class.");
+    }
+
+    /**
+     * Run and report a benchmark.
+     *
+     * @param name name printed in front of the results
+     * @param opsPerCall number of operations done by a single call of the body
+     * @param body benchmark body, its result is consumed
+     * @return measured operations per second
+     */
+    public static double run(String name, long opsPerCall, Supplier<?> body) {
+        Objects.requireNonNull(name, "Given name must not be null.");
+        Objects.requireNonNull(body, "Given body must not be null.");
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runRound(body);
+        }
+        collectGarbage();
+
+        long calls = 0;
+        long nanos = 0;
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long roundCalls = runRound(body);
+            nanos += System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+            calls += roundCalls;
+        }
+
+        return report(name, (double) calls * opsPerCall, nanos, allocated);
+    }
+
+    /**
+     * Run and report a benchmark whose body needs fresh state for every call,
+     * e.g. because it changes the library. The state is created by the setup
+     * before every call, and neither the time nor the allocation of the setup
+     * are measured.
+     *
+     * @param name name printed in front of the results
+     * @param opsPerCall number of operations done by a single call of the body
+     * @param setup creates the state for a single call of the body
+     * @param body benchmark body, its result is consumed
+     * @param <T> type of the state
+     * @return measured operations per second
+     */
+    public static <T> double run(String name, long opsPerCall, Supplier<T> setup, Function<T, ?> body) {
+        Objects.requireNonNull(name, "Given name must not be null.");
+        Objects.requireNonNull(setup, "Given setup must not be null.");
+        Objects.requireNonNull(body, "Given body must not be null.");
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runRound(setup, body);
+        }
+        collectGarbage();
+
+        long[] totals = new long[3];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long[] round = runRound(setup, body);
+            for (int j = 0; j < totals.length; j++) {
+                totals[j] += round[j];
+            }
+        }
+        return report(name, (double) totals[0] * opsPerCall, totals[1], totals[2]);
+    }
+
+    /**
+     * Print a line to the benchmark report.
+     *
+     * @param line line to be printed
+     */
+    public static void report(String line) {
+        REPORT.println(line);
+    }
+
+    /**
+     * Discard everything printed to standard output from now on, so that
+     * command output does not distort the measurements. Results are still
+     * reported to the original standard output.
+     */
+    public static void silenceStdOut() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Keep the given value reachable so that the work creating it is not optimised away.
+     *
+     * @param value value to be consumed
+     */
+    public static void consume(Object value) {
+        sink = value;
+    }
+
+    /**
+     * Measure the retained heap after a full garbage collection.
+     *
+     * @return used heap in bytes
+     */
+    public static long usedHeap() {
+        collectGarbage();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Request full garbage collections until unreachable objects are very likely to be gone. */
+    public static void collectGarbage() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+    }
+
+    private static double report(String name, double ops, long nanos, long allocated) {
+        double seconds = nanos / NANOS_PER_SECOND;
+        double opsPerSecond = ops / seconds;
+        REPORT.println(String.format("%-45s %,15.2f ops/s %,12.1f B/op %,10.1f MB/s",
+                name, opsPerSecond, allocated / ops, allocated / BYTES_PER_MEGABYTE / seconds));
+        return opsPerSecond;
+    }
+
+    /** Run the body with fresh state until a round is over, at least once. Returns calls, nanoseconds and bytes. */
+    private static <T> long[] runRound(Supplier<T> setup, Function<T, ?> body) {
+        long calls = 0;
+        long nanos = 0;
+        long allocated = 0;
+        long end = System.nanoTime() + ROUND_NANOS;
+        do {
+            T state = setup.get();
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            sink = body.apply(state);
+            nanos += System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+            calls++;
+        } while (System.nanoTime() < end);
+        return new long[] { calls, nanos, allocated };
+    }
+
+    private static long runRound(Supplier<?> body) {
+        long calls = 0;
+        long end = System.nanoTime() + ROUND_NANOS;
+        do {
+            sink = body.get();
+            calls++;
+        } while (System.nanoTime() < end);
+        return calls;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
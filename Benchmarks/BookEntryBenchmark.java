@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compares hash set and hash map workloads on BookEntry against the same
+ * workloads on a copy of the previous implementation, which recomputed the
+ * hash code on every call and copied the authors arrays in equals and hashCode.
+ *
+ * Usage: BookEntryBenchmark [path/to/book/data.csv]
+ */
+public class BookEntryBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        List<BookEntry> books = new ArrayList<>();
+        new LibraryFileLoader().streamFileContent(Paths.get(args.length > 0 ? args[0] : "books03.csv"), books::add);
+        // equal copies, so that lookups have to compare all fields
+        List<BookEntry> copies = new ArrayList<>();
+        List<LegacyBookEntry> legacyBooks = new ArrayList<>();
+        List<LegacyBookEntry> legacyCopies = new ArrayList<>();
+        for (BookEntry book : books) {
+            copies.add(new BookEntry(book.getTitle(), book.getAuthors(), book.getRating(), book.getISBN(),
+                    book.getPages()));
+            legacyBooks.add(new LegacyBookEntry(book));
+            legacyCopies.add(new LegacyBookEntry(book));
+        }
+
+        BenchmarkUtils.report(books.size() + " books");
+        BenchmarkUtils.run("HashSet build, previous BookEntry", books.size(), () -> new HashSet<>(legacyBooks));
+        BenchmarkUtils.run("HashSet build, BookEntry", books.size(), () -> new HashSet<>(books));
+
+        Set<LegacyBookEntry> legacySet = new HashSet<>(legacyBooks);
+        Set<BookEntry> set = new HashSet<>(books);
+        BenchmarkUtils.run("HashSet contains, previous BookEntry", books.size(), () -> countContained(legacySet, legacyCopies));
+        BenchmarkUtils.run("HashSet contains, BookEntry", books.size(), () -> countContained(set, copies));
+
+        Map<LegacyBookEntry, Integer> legacyMap = new HashMap<>();
+        Map<BookEntry, Integer> map = new HashMap<>();
+        for (int i = 0; i < books.size(); i++) {
+            legacyMap.put(legacyBooks.get(i), i);
+            map.put(books.get(i), i);
+        }
+        BenchmarkUtils.run("HashMap get, previous BookEntry", books.size(), () -> sumValues(legacyMap, legacyCopies));
+        BenchmarkUtils.run("HashMap get, BookEntry", books.size(), () -> sumValues(map, copies));
+    }
+
+    private static <T> int countContained(Set<T> set, List<T> keys) {
+        int count = 0;
+        for (T key : keys) {
+            if (set.contains(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T> long sumValues(Map<T, Integer> map, List<T> keys) {
+        long sum = 0;
+        for (T key : keys) {
+            sum += map.get(key);
+        }
+        return sum;
+    }
+
+    /** Copy of the equals and hashCode implementation BookEntry had before caching its hash code. */
+    private static final class LegacyBookEntry {
+
+        private final String title;
+        private final String[] authors;
+        private final float rating;
+        private final String ISBN;
+        private final int pages;
+
+        LegacyBookEntry(BookEntry book) {
+            title = book.getTitle();
+            authors = book.getAuthors();
+            rating = book.getRating();
+            ISBN = book.getISBN();
+            pages = book.getPages();
+        }
+
+        String[] getAuthors() {
+            return authors.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LegacyBookEntry)) return false;
+            LegacyBookEntry bookEntry = (LegacyBookEntry) o;
+            return Float.compare(bookEntry.rating, rating) == 0 &&
+                    pages == bookEntry.pages &&
+                    title.equals(bookEntry.title) &&
+                    Arrays.equals(getAuthors(), bookEntry.getAuthors()) &&
+                    ISBN.equals(bookEntry.ISBN);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(title, rating, ISBN, pages);
+            result = 31 * result + Arrays.hashCode(getAuthors());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the book entry list of the library against its column store, in
+ * memory per book and in the throughput of scans computing the average
+ * rating and counting short books. Books are generated in memory, titles and
+ * authors are shared through a dictionary, so only the layout of the books
+ * themselves is compared.
+ *
+ * Usage: ColumnsBenchmark [rows]
+ *
+ * Ten million rows need a heap of about 4 GB (-Xmx4g).
+ */
+public class ColumnsBenchmark {
+
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int DISTINCT_TITLES = 200_000;
+    private static final int DISTINCT_AUTHORS = 50_000;
+    private static final int SHORT_BOOK_PAGES = 300;
+    private static final long SEED = 42;
+
+    private static List<BookEntry> books;
+    private static LibraryColumns columns;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        StringDictionary dictionary = new StringDictionary();
+        String[] titles = new String[DISTINCT_TITLES];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = dictionary.intern("Synthetic Title Number " + i);
+        }
+        String[] authors = new String[DISTINCT_AUTHORS];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = dictionary.intern("Author Firstname" + i + " Lastname" + i);
+        }
+
+        long heapBefore = BenchmarkUtils.usedHeap();
+        books = createBooks(rows, titles, authors);
+        long heapBooks = BenchmarkUtils.usedHeap();
+        columns = new LibraryColumns(dictionary);
+        for (BookEntry book : books) {
+            columns.add(book);
+        }
+        long heapColumns = BenchmarkUtils.usedHeap();
+        BenchmarkUtils.report(String.format("%,d books: entries %.1f B/book, columns %.1f B/book (%.1f B/book allocated)",
+                rows, (double) (heapBooks - heapBefore) / rows, (double) (heapColumns - heapBooks) / rows,
+                (double) columns.memoryBytes() / rows));
+
+        BenchmarkUtils.run("average rating over entries", rows, () -> {
+            double sum = 0;
+            for (int i = 0; i < books.size(); i++) {
+                sum += books.get(i).getRating();
+            }
+            return sum / books.size();
+        });
+        BenchmarkUtils.run("average rating over columns", rows, () -> {
+            double sum = 0;
+            for (int row = 0; row < columns.size(); row++) {
+                sum += columns.rating(row);
+            }
+            return sum / columns.size();
+        });
+        BenchmarkUtils.run("count short books over entries", rows, () -> {
+            int count = 0;
+            for (int i = 0; i < books.size(); i++) {
+                if (books.get(i).getPages() < SHORT_BOOK_PAGES) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        BenchmarkUtils.run("count short books over columns", rows, () -> {
+            int count = 0;
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.pages(row) < SHORT_BOOK_PAGES) {
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private static List<BookEntry> createBooks(int rows, String[] titles, String[] authors) {
+        Random random = new Random(SEED);
+        List<BookEntry> created = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String[] bookAuthors = random.nextInt(4) == 0
+                    ? new String[]{authors[random.nextInt(authors.length)], authors[random.nextInt(authors.length)]}
+                    : new String[]{authors[random.nextInt(authors.length)]};
+            created.add(new BookEntry(titles[random.nextInt(titles.length)], bookAuthors,
+                    1 + random.nextInt(400) / 100f, String.valueOf(100_000_000L + i), 50 + random.nextInt(900)));
+        }
+        return created;
+    }
+}
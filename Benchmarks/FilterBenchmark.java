@@ -0,0 +1,51 @@
+import java.util.Random;
+
+/**
+ * Measures FILTER over the column store of a large synthetic library, once
+ * on a single thread and once split into chunks scanned in parallel. Books
+ * are generated in memory and only their columns are kept.
+ *
+ * Usage: FilterBenchmark [rows]
+ *
+ * Ten million rows need a heap of about 1 GB.
+ */
+public class FilterBenchmark {
+
+    private static final int DEFAULT_ROWS = 10_000_000;
+    private static final int DISTINCT_AUTHORS = 50_000;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        StringDictionary dictionary = new StringDictionary();
+        String[] authors = new String[DISTINCT_AUTHORS];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = dictionary.intern("Author Firstname" + i + " Lastname" + i);
+        }
+        String title = dictionary.intern("Synthetic Title");
+        LibraryColumns columns = new LibraryColumns(dictionary);
+        Random random = new Random(SEED);
+        for (int i = 0; i < rows; i++) {
+            double skew = random.nextDouble();
+            String[] bookAuthors = {authors[(int) (DISTINCT_AUTHORS * skew * skew * skew)]};
+            columns.add(new BookEntry(title, bookAuthors, random.nextInt(501) / 100f, "", 50 + random.nextInt(900)));
+        }
+        BenchmarkUtils.report(String.format("%,d rows, %d cores", rows, Runtime.getRuntime().availableProcessors()));
+
+        BookFilter ratingAndPages = new BookFilter();
+        ratingAndPages.addRatingRange(4.2f, Float.POSITIVE_INFINITY);
+        ratingAndPages.addPagesRange(Integer.MIN_VALUE, 299);
+        BookFilter authorAndRating = new BookFilter();
+        authorAndRating.addRatingRange(4.2f, Float.POSITIVE_INFINITY);
+        authorAndRating.addAuthor(authors[1]);
+
+        BenchmarkUtils.run("rating>=4.2 pages<300, single thread", rows, () ->
+                ratingAndPages.select(columns, Integer.MAX_VALUE));
+        BenchmarkUtils.run("rating>=4.2 pages<300, parallel", rows, () ->
+                ratingAndPages.select(columns, 0));
+        BenchmarkUtils.run("rating>=4.2 author=..., single thread", rows, () ->
+                authorAndRating.select(columns, Integer.MAX_VALUE));
+        BenchmarkUtils.run("rating>=4.2 author=..., parallel", rows, () ->
+                authorAndRating.select(columns, 0));
+    }
+}
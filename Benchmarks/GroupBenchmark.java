@@ -0,0 +1,55 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the former GROUP AUTHOR, which collected the distinct authors with
+ * List.contains and then searched all books for every author, against the
+ * sorted author index of LibraryData. Output goes to a discarded stream.
+ *
+ * Usage: GroupBenchmark [path/to/book/data.csv]
+ */
+public class GroupBenchmark {
+
+    public static void main(String[] args) {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        BenchmarkUtils.silenceStdOut();
+
+        LibraryData library = new LibraryData();
+        library.loadData(csvFile);
+        List<BookEntry> books = library.getBookData();
+        BenchmarkUtils.report(String.format("%d books, %d authors", books.size(), library.getBooksByAuthor().size()));
+
+        BenchmarkUtils.run("GROUP AUTHOR scan", 1, () -> {
+            groupByScan(books);
+            return books;
+        });
+        BenchmarkUtils.run("GROUP AUTHOR index", 1, () -> {
+            new GroupCmd(Utils.AUTHOR).execute(library);
+            return library;
+        });
+    }
+
+    private static void groupByScan(List<BookEntry> books) {
+        List<String> authors = new ArrayList<>();
+        for (BookEntry book : books) {
+            for (String author : book.getAuthors()) {
+                if (!authors.contains(author)) {
+                    authors.add(author);
+                }
+            }
+        }
+        Collections.sort(authors);
+        for (String author : authors) {
+            System.out.println(Utils.GROUP_HASH + author);
+            for (BookEntry book : books) {
+                if (Arrays.asList(book.getAuthors()).contains(author)) {
+                    System.out.println(Utils.SPACING_FOR_GROUPING + book.getTitle());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the former GROUP TITLE, which allocated 27 lists and classified
+ * every title with three calls of toUpperCase, against the title buckets
+ * maintained by LibraryData. Output goes to a discarded stream.
+ *
+ * Usage: GroupTitleBenchmark [titles]
+ */
+public class GroupTitleBenchmark {
+
+    private static final String[] INITIALS = { "The ", "A ", "Harry ", "Zen ", "1984 ", "'Salem ", "\u00c9t\u00e9 ",
+            "\u00f6de ", "\u0391lpha " };
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int titleCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BenchmarkUtils.silenceStdOut();
+
+        Random random = new Random(SEED);
+        List<BookEntry> books = new ArrayList<>(titleCount);
+        for (int i = 0; i < titleCount; i++) {
+            String initial = random.nextInt(4) == 0
+                    ? INITIALS[random.nextInt(INITIALS.length)]
+                    : String.valueOf((char) ('a' + random.nextInt(26)));
+            books.add(new BookEntry(initial + "title " + i, new String[] { "Author " + i % 1000 }, 3.5f,
+                    "ISBN" + i, 100));
+        }
+
+        LibraryData library = new LibraryData();
+        long start = System.nanoTime();
+        library.addEntries(books);
+        library.getTitleBucket(0);
+        BenchmarkUtils.report(String.format("%,d titles, indexes built in %,.0f ms", titleCount,
+                (System.nanoTime() - start) / 1e6));
+
+        BenchmarkUtils.run("GROUP TITLE classify", titleCount, () -> {
+            groupByClassifying(books);
+            return books;
+        });
+        BenchmarkUtils.run("GROUP TITLE buckets", titleCount, () -> {
+            new GroupCmd(Utils.TITLE).execute(library);
+            return library;
+        });
+    }
+
+    private static void groupByClassifying(List<BookEntry> books) {
+        List<List<String>> titles = new ArrayList<>();
+        for (int i = 0; i <= Utils.ALPHABET_LENGTH; i++) {
+            titles.add(new ArrayList<>());
+        }
+        for (BookEntry book : books) {
+            String title = book.getTitle();
+            if (title.toUpperCase().charAt(0) >= Utils.ASCII_CASE_FOR_A
+                    && title.toUpperCase().charAt(0) <= Utils.ASCII_CASE_FOR_Z) {
+                titles.get(title.toUpperCase().charAt(0) - Utils.ASCII_CASE_FOR_A).add(title);
+            } else {
+                titles.get(Utils.ALPHABET_LENGTH).add(title);
+            }
+        }
+        for (int i = 0; i < titles.size(); i++) {
+            if (!titles.get(i).isEmpty()) {
+                System.out.println(Utils.GROUP_HASH + (i < Utils.ALPHABET_LENGTH
+                        ? String.valueOf((char) (i + Utils.ASCII_CASE_FOR_A)) : Utils.GROUP_NUMBERS));
+                for (String title : titles.get(i)) {
+                    System.out.println(Utils.SPACING_FOR_GROUPING + title);
+                }
+            }
+        }
+    }
+}
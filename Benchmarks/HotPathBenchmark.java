@@ -0,0 +1,134 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark suite of the hot paths of the library, run for libraries of
+ * growing size: parsing a file, loading and merging it, SEARCH, REMOVE,
+ * GROUP TITLE and GROUP AUTHOR and LIST. Every benchmark reports throughput
+ * and allocation through BenchmarkUtils; benchmarks which change the library
+ * get a fresh library for every call, which is neither timed nor counted.
+ *
+ * Allocation is counted for the benchmark thread only, so it is too low for
+ * the parallel parse and load, whose workers allocate most of the entries.
+ *
+ * LibraryData.mergeEntries is private; it is measured by the parallel load,
+ * which parses with parseFileParallel and then merges with mergeEntries, so
+ * the merge costs the difference between "load parallel" and "parse parallel".
+ *
+ * The libraries are written by LibraryGenerator, whose settings can be given
+ * after the filter to benchmark libraries of a different shape.
+ *
+ * Usage: HotPathBenchmark [sizes, e.g. 1000,10000] [benchmark name filter] [generator setting=value]...
+ *
+ * A library of one million books needs a heap of about 3 GB (-Xmx3g). Every
+ * benchmark runs for at least ten rounds of half a second and at least one
+ * call per round, so the suite runs for several minutes; for a million books
+ * fewer rounds keep it reasonable, e.g. -Dbenchmark.warmupRounds=1
+ * -Dbenchmark.measuredRounds=2.
+ */
+public class HotPathBenchmark {
+
+    private static final int[] DEFAULT_SIZES = { 1_000, 10_000, 100_000, 1_000_000 };
+    private static final String COMMON_TERM = "THE";
+    private static final String RARE_TERM = "XYZ";
+
+    private static String filter;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0 ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray() : DEFAULT_SIZES;
+        filter = args.length > 1 ? args[1] : "";
+        LibraryGenerator generator = new LibraryGenerator();
+        for (int i = 2; i < args.length; i++) {
+            generator.set(args[i]);
+        }
+        BenchmarkUtils.silenceStdOut();
+
+        for (int size : sizes) {
+            Path file = Files.createTempFile("library", ".csv");
+            try {
+                generator.write(file, size);
+                BenchmarkUtils.report(String.format("%n%,d rows, %,d bytes", size, Files.size(file)));
+                runSuite(size, file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void runSuite(int size, Path file) {
+        LibraryFileLoader loader = new LibraryFileLoader();
+        loader.loadFileContent(file);
+        run("parseFileContent", size, loader::parseFileContent);
+        run("parse parallel", size, () -> new LibraryFileLoader().parseFileParallel(file));
+        run("load stream", size, LibraryData::new, library -> library.loadData(file, false));
+        run("load parallel (parse + mergeEntries)", size, LibraryData::new, library -> library.loadData(file, true));
+
+        LibraryData library = new LibraryData();
+        library.loadData(file, true);
+        List<BookEntry> books = new ArrayList<>(library.getBookData());
+        BookEntry middle = books.get(books.size() / 2);
+        String author = middle.getAuthors()[0];
+        CommandOutput out = new CommandOutput(OutputStream.nullOutputStream());
+
+        run("searchBooks " + COMMON_TERM, 1, () -> search(library, COMMON_TERM));
+        run("searchBooks " + RARE_TERM, 1, () -> search(library, RARE_TERM));
+        run("remover TITLE", 1, () -> copyOf(books), copy -> {
+            Utils.generalRemove(copy, Utils.TITLE, Utils.TITLE + " " + middle.getTitle(), out);
+            return copy;
+        });
+        run("remover AUTHOR (" + library.getBooksByAuthor().get(author).size() + " books)", 1, () -> copyOf(books), copy -> {
+            Utils.generalRemove(copy, Utils.AUTHOR, Utils.AUTHOR + " " + author, out);
+            return copy;
+        });
+        run("mainGroup TITLE", 1, () -> {
+            Utils.mainGroup(library, Utils.TITLE, out);
+            return library;
+        });
+        run("mainGroup AUTHOR", 1, () -> {
+            Utils.mainGroup(library, Utils.AUTHOR, out);
+            return library;
+        });
+        run("LIST long", 1, () -> {
+            new ListCmd(Utils.LONG).execute(library);
+            return library;
+        });
+        run("LIST short page of 20", 1, () -> {
+            new ListCmd("short limit 20 offset " + size / 2).execute(library);
+            return library;
+        });
+    }
+
+    private static void run(String name, long opsPerCall, Supplier<?> body) {
+        if (name.contains(filter)) {
+            BenchmarkUtils.run(name, opsPerCall, body);
+        }
+    }
+
+    private static <T> void run(String name, long opsPerCall, Supplier<T> setup,
+                                Function<T, ?> body) {
+        if (name.contains(filter)) {
+            BenchmarkUtils.run(name, opsPerCall, setup, body);
+        }
+    }
+
+    private static List<String> search(LibraryData library, String term) {
+        List<String> found = new ArrayList<>();
+        Utils.searchBooks(library, found, term);
+        return found;
+    }
+
+    /** Library with the given books, indexed before it is handed out. */
+    private static LibraryData copyOf(List<BookEntry> books) {
+        LibraryData copy = new LibraryData();
+        copy.addEntries(books);
+        copy.getBooksByAuthor();
+        return copy;
+    }
+}
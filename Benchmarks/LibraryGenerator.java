@@ -0,0 +1,234 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Writes synthetic book data files in the format of the bundled files,
+ * title,authors,average_rating,isbn,# num_pages, at any scale. The same seed
+ * and settings always give the same file.
+ *
+ * The shape of the library can be tuned:
+ *      authors=N        - number of distinct authors
+ *      authorSkew=S     - exponent of the Zipf distribution the authors of a
+ *                         book are drawn from, 0 for uniform; the larger it is
+ *                         the more books the most popular authors have
+ *      maxAuthors=N     - largest number of authors of a book; every further
+ *                         author is half as likely as the one before
+ *      titleWords=N     - mean number of words of a title, at least 1
+ *      duplicates=R     - share of rows repeating an earlier row, which the
+ *                         library discards when loading
+ *      nonLetter=R      - share of titles starting with a digit, a punctuation
+ *                         mark, an accented letter or a letter which is not
+ *                         a Latin letter
+ *      seed=N           - seed of the random numbers
+ *
+ * Usage: LibraryGenerator path/to/output.csv rows [setting=value]...
+ *
+ * Rows are generated one at a time and written through a large buffer, so
+ * memory use does not depend on the number of rows. Duplicates repeat one of
+ * the last rows, which are kept in a small ring.
+ */
+public class LibraryGenerator {
+
+    private static final String HEADER = "title,authors,average_rating,isbn,# num_pages";
+    private static final int WRITE_BUFFER_CHARS = 1 << 20;
+    private static final int RECENT_ROWS = 1024;
+    private static final String[] WORDS = {
+            "Night", "River", "Garden", "Winter", "Story", "Castle", "Shadow", "Harry", "Secret", "Journey",
+            "House", "Queen", "War", "Love", "Dark", "Light", "Stone", "City", "Sea", "Fire",
+            "Song", "Time", "World", "Road", "Last", "Little", "Lost", "Golden", "Silent", "Wild"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Anne", "George", "Harper", "Isabel", "James", "Leo", "Maya", "Nadia", "Oscar", "Ruth"
+    };
+    private static final String[] NON_LETTER_PREFIXES = {
+            "1984", "2001", "7", "101", "\u00c9t\u00e9", "\u00d8resund", "\u0392\u03b9\u03b2\u03bb\u03af\u03bf", "\u00d6sterreich", "\u00bfQui\u00e9n"
+    };
+
+    private int authors = 100_000;
+    private double authorSkew = 1.0;
+    private int maxAuthors = 3;
+    private int titleWords = 3;
+    private double duplicates = 0.01;
+    private double nonLetter = 0.05;
+    private long seed = 42;
+
+    /** Cumulative probabilities of the authors, by author number. */
+    private double[] authorCdf;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LibraryGenerator path/to/output.csv rows [setting=value]...");
+            return;
+        }
+        LibraryGenerator generator = new LibraryGenerator();
+        for (int i = 2; i < args.length; i++) {
+            generator.set(args[i]);
+        }
+        long rows = Long.parseLong(args[1]);
+        long start = System.nanoTime();
+        generator.write(Paths.get(args[0]), rows);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("%,d rows written to %s in %.1f s (%,.0f rows/s).", rows, args[0], seconds, rows / seconds));
+    }
+
+    /**
+     * Change a setting, given as name=value.
+     *
+     * @param setting setting to be changed
+     * @return this generator
+     * @throws IllegalArgumentException if the setting is unknown or its value invalid
+     */
+    public LibraryGenerator set(String setting) {
+        Objects.requireNonNull(setting, "Given setting must not be null.");
+        String[] parts = setting.split("=", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Setting must be given as name=value: " + setting);
+        }
+        String value = parts[1];
+        switch (parts[0]) {
+            case "authors":
+                authors = positive(Integer.parseInt(value), setting);
+                break;
+            case "authorSkew":
+                authorSkew = Double.parseDouble(value);
+                break;
+            case "maxAuthors":
+                maxAuthors = positive(Integer.parseInt(value), setting);
+                break;
+            case "titleWords":
+                titleWords = positive(Integer.parseInt(value), setting);
+                break;
+            case "duplicates":
+                duplicates = share(Double.parseDouble(value), setting);
+                break;
+            case "nonLetter":
+                nonLetter = share(Double.parseDouble(value), setting);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown setting: " + setting);
+        }
+        authorCdf = null;
+        return this;
+    }
+
+    /**
+     * Write a book data file with the given number of rows.
+     *
+     * @param file path of the file to be written
+     * @param rows number of rows after the header
+     * @throws IOException if the file could not be written
+     */
+    public void write(Path file, long rows) throws IOException {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS)) {
+            write(writer, rows);
+        }
+    }
+
+    /**
+     * Write a header and the given number of rows.
+     *
+     * @param writer writer the rows are written to
+     * @param rows number of rows after the header
+     * @throws IOException if the rows could not be written
+     */
+    public void write(Writer writer, long rows) throws IOException {
+        Objects.requireNonNull(writer, "Given writer must not be null.");
+        if (authorCdf == null) {
+            authorCdf = zipfCdf(authors, authorSkew);
+        }
+        Random random = new Random(seed);
+        String[] recent = new String[RECENT_ROWS];
+        StringBuilder row = new StringBuilder(128);
+        writer.write(HEADER);
+        writer.write('\n');
+
+        for (long i = 0; i < rows; i++) {
+            String duplicate = i > 0 && random.nextDouble() < duplicates
+                    ? recent[random.nextInt((int) Math.min(i, RECENT_ROWS))] : null;
+            String line = duplicate;
+            if (line == null) {
+                row.setLength(0);
+                appendRow(row, i, random);
+                line = row.toString();
+            }
+            recent[(int) (i % RECENT_ROWS)] = line;
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    /** Append a new row; its number is part of the title and the ISBN, so the row is unique. */
+    private void appendRow(StringBuilder row, long number, Random random) {
+        if (random.nextDouble() < nonLetter) {
+            row.append(NON_LETTER_PREFIXES[random.nextInt(NON_LETTER_PREFIXES.length)]).append(' ');
+        }
+        int words = 1 + random.nextInt(2 * titleWords - 1);
+        for (int w = 0; w < words; w++) {
+            row.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        row.append(number).append(',');
+
+        int bookAuthors = 1;
+        while (bookAuthors < maxAuthors && random.nextBoolean()) {
+            bookAuthors++;
+        }
+        for (int a = 0; a < bookAuthors; a++) {
+            if (a > 0) {
+                row.append('-');
+            }
+            int author = drawAuthor(random);
+            row.append(FIRST_NAMES[author % FIRST_NAMES.length]).append(" Author").append(author);
+        }
+
+        int rating = 100 + random.nextInt(401);
+        row.append(',').append(rating / 100).append('.').append(rating / 10 % 10).append(rating % 10);
+        row.append(',').append(1_000_000_000L + number);
+        row.append(',').append(20 + random.nextInt(980));
+    }
+
+    /** Draw an author number from the Zipf distribution of the authors. */
+    private int drawAuthor(Random random) {
+        int index = Arrays.binarySearch(authorCdf, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, authorCdf.length - 1);
+    }
+
+    /** Cumulative probabilities of a Zipf distribution over the given number of values. */
+    private static double[] zipfCdf(int values, double exponent) {
+        double[] cdf = new double[values];
+        double sum = 0;
+        for (int i = 0; i < values; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < values; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int positive(int value, String setting) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Setting must be positive: " + setting);
+        }
+        return value;
+    }
+
+    private static double share(double value, String setting) {
+        if (!(value >= 0 && value <= 1)) {
+            throw new IllegalArgumentException("Setting must be between 0 and 1: " + setting);
+        }
+        return value;
+    }
+}
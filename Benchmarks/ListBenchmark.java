@@ -0,0 +1,79 @@
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compares LIST long printed line by line with System.out.println, as it
+ * was done before, against the buffered command output. Standard output is
+ * an autoflushing stream to /dev/null, so every flush costs a system call
+ * as it does on a console. A single page of LIST long is measured in pages
+ * per second, once in the order of the library and once sorted by rating,
+ * which is compared against sorting a copy of the library on every call.
+ *
+ * Usage: ListBenchmark [path/to/book/data.csv]
+ */
+public class ListBenchmark {
+
+    public static void main(String[] args) throws FileNotFoundException {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        BenchmarkUtils.silenceStdOut();
+
+        LibraryData library = new LibraryData();
+        library.loadData(csvFile);
+        List<BookEntry> books = library.getBookData();
+        BenchmarkUtils.report(String.format("%d books", books.size()));
+        System.setOut(new PrintStream(new FileOutputStream("/dev/null"), true));
+
+        BenchmarkUtils.run("LIST long println", books.size(), () -> {
+            System.out.println(books.size() + " books in library:");
+            for (int i = 0; i < books.size(); i++) {
+                System.out.println(books.get(i).toString() + "\n");
+            }
+            return books;
+        });
+        BenchmarkUtils.run("LIST short println", books.size(), () -> {
+            System.out.println(books.size() + " books in library:");
+            for (int i = 0; i < books.size(); i++) {
+                System.out.println(books.get(i).getTitle());
+            }
+            return books;
+        });
+        ListCmd listShort = new ListCmd(Utils.SHORT);
+        BenchmarkUtils.run("LIST short buffered", books.size(), () -> {
+            listShort.execute(library);
+            return library;
+        });
+        ListCmd listPage = new ListCmd("long limit 20 offset " + books.size() / 2);
+        BenchmarkUtils.run("LIST long page of 20", 1, () -> {
+            listPage.execute(library);
+            return library;
+        });
+        ListCmd sortedPage = new ListCmd("long sort rating desc limit 20 offset " + books.size() / 2);
+        BenchmarkUtils.run("LIST long sorted page of 20", 1, () -> {
+            sortedPage.execute(library);
+            return library;
+        });
+        BenchmarkUtils.run("Collections.sort by rating", 1, () -> {
+            List<BookEntry> sorted = new ArrayList<>(books);
+            sorted.sort(Comparator.comparing(BookEntry::getRating).reversed());
+            return sorted.subList(books.size() / 2, books.size() / 2 + 20);
+        });
+        BenchmarkUtils.run("sorted order by title", 1, () ->
+                library.getSortedBooks(SortKey.TITLE, false, 0, books.size()));
+        BenchmarkUtils.run("Collections.sort by title", 1, () -> {
+            List<BookEntry> sorted = new ArrayList<>(books);
+            sorted.sort(Comparator.comparing(BookEntry::getTitleKey));
+            return sorted;
+        });
+        ListCmd listLong = new ListCmd(Utils.LONG);
+        BenchmarkUtils.run("LIST long buffered", books.size(), () -> {
+            listLong.execute(library);
+            return library;
+        });
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the HTTP interface of the library. A fixed number of clients
+ * send requests without pause, each sending its next request as soon as the
+ * answer to the last one has arrived, so the number of requests in flight
+ * stays the same. The requests cycle through the given paths. After a warmup
+ * the throughput, the errors and the latency percentiles are reported.
+ *
+ * Requests are sent asynchronously, so thousands of clients do not need
+ * thousands of threads on the client side.
+ *
+ * Settings are given as name=value:
+ *      url=U            - server to be tested, e.g. http://localhost:8080; without
+ *                         it a server is started in this JVM, serving a generated
+ *                         library from a temporary data directory which is loaded
+ *                         through POST /add
+ *      rows=N           - rows of the generated library, 100000 by default
+ *      clients=N        - requests in flight, 1000 by default
+ *      seconds=N        - measured time, 10 by default
+ *      warmup=N         - time before measuring, 3 by default
+ *      paths=P,P...     - paths of the requests, all GET
+ *
+ * Usage: LoadTestClient [setting=value]...
+ */
+public class LoadTestClient {
+
+    private static final String DEFAULT_PATHS = "/search?term=night,/search?term=harry%20123,/list?limit=20&offset=500,"
+            + "/list?limit=20&sort=rating&order=desc";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private URI[] uris;
+    private CountDownLatch finished;
+    private volatile long endNanos;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String url = null;
+        int rows = 100_000;
+        int clients = 1000;
+        int seconds = 10;
+        int warmup = 3;
+        String paths = DEFAULT_PATHS;
+        for (String arg : args) {
+            String[] setting = arg.split("=", 2);
+            switch (setting.length == 2 ? setting[0] : "") {
+                case "url": url = setting[1]; break;
+                case "rows": rows = Integer.parseInt(setting[1]); break;
+                case "clients": clients = Integer.parseInt(setting[1]); break;
+                case "seconds": seconds = Integer.parseInt(setting[1]); break;
+                case "warmup": warmup = Integer.parseInt(setting[1]); break;
+                case "paths": paths = setting[1]; break;
+                default: throw new IllegalArgumentException("Unknown setting: " + arg);
+            }
+        }
+
+        LibraryServer server = null;
+        if (url == null) {
+            BenchmarkUtils.silenceStdOut();
+            Path dataDirectory = Files.createTempDirectory("library");
+            server = new LibraryServer(new LibraryData(), dataDirectory, 0);
+            server.start();
+            url = "http://localhost:" + server.getPort();
+            BenchmarkUtils.report(String.format("Started a server on %s with %s.", url,
+                    server.usesVirtualThreads() ? "virtual threads" : "a cached thread pool"));
+            try {
+                loadGeneratedLibrary(url, dataDirectory, rows);
+            } finally {
+                Files.deleteIfExists(dataDirectory);
+            }
+        }
+
+        try {
+            LoadTestClient test = new LoadTestClient();
+            String base = url;
+            test.uris = Arrays.stream(paths.split(",")).map(path -> URI.create(base + path)).toArray(URI[]::new);
+            test.run(clients, warmup, seconds);
+        } finally {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+    }
+
+    /** Generate a library in the data directory, load it into the server and report how long that took. */
+    private static void loadGeneratedLibrary(String url, Path dataDirectory, int rows)
+            throws IOException, InterruptedException {
+        Path file = Files.createTempFile(dataDirectory, "library", ".csv");
+        try {
+            new LibraryGenerator().write(file, rows);
+            long start = System.nanoTime();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(url + "/add"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("path=" + file.getFileName())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            BenchmarkUtils.report(String.format("POST /add of %,d rows: %d %s in %.1f s", rows, response.statusCode(),
+                    response.body(), (System.nanoTime() - start) / 1e9));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void run(int clients, int warmupSeconds, int seconds) throws InterruptedException {
+        BenchmarkUtils.report(String.format("%,d clients, %d s warmup, %d s measured, paths %s", clients, warmupSeconds,
+                seconds, Arrays.toString(uris)));
+        finished = new CountDownLatch(clients);
+        endNanos = System.nanoTime() + (warmupSeconds + seconds) * 1_000_000_000L;
+        for (int i = 0; i < clients; i++) {
+            send();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        latencies.reset();
+        errors.set(0);
+        long start = System.nanoTime();
+        finished.await();
+        double measured = (System.nanoTime() - start) / 1e9;
+
+        long requests = latencies.getCount();
+        BenchmarkUtils.report(String.format("%,d requests in %.1f s: %,.0f requests/s, %,d errors", requests, measured,
+                requests / measured, errors.get()));
+        BenchmarkUtils.report(String.format("latency ms: mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f",
+                latencies.getTotalNanos() / 1e6 / Math.max(requests, 1), latencies.percentile(50) / 1e6,
+                latencies.percentile(90) / 1e6, latencies.percentile(99) / 1e6, latencies.percentile(99.9) / 1e6,
+                latencies.getMaxNanos() / 1e6));
+    }
+
+    /** Send the next request of a client, or finish the client once the time is up. */
+    private void send() {
+        if (System.nanoTime() - endNanos >= 0) {
+            finished.countDown();
+            return;
+        }
+        URI uri = uris[(int) (sent.getAndIncrement() % uris.length)];
+        long start = System.nanoTime();
+        client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latencies.record(System.nanoTime() - start);
+                    if (error != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    send();
+                });
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reports the memory saved by the library wide string dictionary, once for a
+ * real book data file and once for a synthetic file with a skewed
+ * distribution of authors, as typical for real libraries.
+ *
+ * Usage: MemoryBenchmark [path/to/book/data.csv] [synthetic rows]
+ *
+ * Ten million synthetic rows need a heap of about 4 GB (-Xmx4g).
+ */
+public class MemoryBenchmark {
+
+    private static final int DEFAULT_SYNTHETIC_ROWS = 1_000_000;
+    private static final int DISTINCT_TITLES = 200_000;
+    private static final int DISTINCT_AUTHORS = 50_000;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws IOException {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        int syntheticRows = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SYNTHETIC_ROWS;
+        BenchmarkUtils.silenceStdOut();
+
+        reportLoad(csvFile.toString(), csvFile);
+
+        Path syntheticFile = Files.createTempFile("books", ".csv");
+        try {
+            writeSyntheticFile(syntheticFile, syntheticRows);
+            reportLoad(String.format("synthetic %,d rows", syntheticRows), syntheticFile);
+        } finally {
+            Files.deleteIfExists(syntheticFile);
+        }
+    }
+
+    private static void reportLoad(String name, Path file) {
+        long heapBefore = BenchmarkUtils.usedHeap();
+        LibraryData library = new LibraryData();
+        library.loadData(file);
+        long heapAfter = BenchmarkUtils.usedHeap();
+
+        StringDictionary dictionary = library.getDictionary();
+        int[] referenceCounts = library.getColumns().referenceCounts();
+        long references = Arrays.stream(referenceCounts).asLongStream().sum();
+        long savedBytes = dictionary.savedBytes(referenceCounts);
+        long overheadBytes = dictionary.overheadBytes(referenceCounts);
+        BenchmarkUtils.report(String.format("%s: %,d books, %,d distinct titles and authors for %,d references",
+                name, library.getBookData().size(), dictionary.size(), references));
+        BenchmarkUtils.report(String.format("  strings %,d bytes, dictionary overhead %,d bytes, saved %,d bytes"
+                        + " (net %,d bytes), retained heap %,d bytes", dictionary.stringBytes(referenceCounts),
+                overheadBytes, savedBytes, savedBytes - overheadBytes,
+                heapAfter - heapBefore));
+        BenchmarkUtils.consume(library);
+    }
+
+    /**
+     * Write rows whose authors follow a rough power law: a few authors wrote
+     * most of the books, while most authors wrote only a few.
+     */
+    private static void writeSyntheticFile(Path file, int rows) throws IOException {
+        Random random = new Random(SEED);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("title,authors,average_rating,isbn,# num_pages\n");
+            for (int i = 0; i < rows; i++) {
+                int title = random.nextInt(DISTINCT_TITLES);
+                writer.write("Synthetic Title Number " + title + " (Series #" + title % 7 + ")");
+                writer.write(',');
+                writer.write(skewedAuthor(random));
+                if (random.nextInt(4) == 0) {
+                    writer.write('-');
+                    writer.write(skewedAuthor(random));
+                }
+                writer.write(String.format(",%d.%02d,%d,%d\n", 1 + random.nextInt(4), random.nextInt(100),
+                        100_000_000L + i, 50 + random.nextInt(900)));
+            }
+        }
+    }
+
+    private static String skewedAuthor(Random random) {
+        double skew = random.nextDouble();
+        int author = (int) (DISTINCT_AUTHORS * skew * skew * skew);
+        return "Author Firstname" + author + " Lastname" + author;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compares the former REMOVE AUTHOR, which scanned all books and removed each
+ * match with Iterator.remove, against the author index of LibraryData, which
+ * removes all matches in one compaction pass. Every round removes one author
+ * from a freshly built library; only the removal is timed.
+ *
+ * REMOVE TITLE is compared the same way: the former scan for the first book
+ * with the title against the title index, which finds the row of the book
+ * without scanning. Every round removes a number of titles spread over a
+ * freshly built library, one REMOVE TITLE after the other.
+ *
+ * Usage: RemoveBenchmark [books] [books of the removed author] [removed titles]
+ */
+public class RemoveBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final String AUTHOR = "Prolific Author";
+
+    public static void main(String[] args) {
+        int bookCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int authorBooks = args.length > 1 ? Integer.parseInt(args[1]) : bookCount / 2;
+        int titleCount = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        BenchmarkUtils.silenceStdOut();
+        BenchmarkUtils.report(String.format("%,d books, %,d of them by the removed author, %,d removed titles",
+                bookCount, authorBooks, titleCount));
+
+        List<BookEntry> books = new ArrayList<>(bookCount);
+        for (int i = 0; i < bookCount; i++) {
+            String author = i % (bookCount / Math.max(authorBooks, 1)) == 0 && i / 2 < authorBooks
+                    ? AUTHOR : "Author " + i;
+            books.add(new BookEntry("Title " + i, new String[] { author }, 3.5f, "ISBN" + i, 100 + i % 500));
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            List<BookEntry> copy = new ArrayList<>(books);
+            long start = System.nanoTime();
+            int removed = removeWithIterator(copy, AUTHOR);
+            long iteratorNanos = System.nanoTime() - start;
+
+            LibraryData library = new LibraryData();
+            library.addEntries(books);
+            library.removeByAuthor("nobody");
+            start = System.nanoTime();
+            int removedIndexed = library.removeByAuthor(AUTHOR);
+            long indexNanos = System.nanoTime() - start;
+
+            BenchmarkUtils.report(String.format("round %d: iterator %,d removed in %,.1f ms, index %,d removed in %,.1f ms",
+                    round, removed, iteratorNanos / 1e6, removedIndexed, indexNanos / 1e6));
+        }
+
+        List<String> titles = new ArrayList<>(titleCount);
+        for (int i = 0; i < titleCount; i++) {
+            titles.add(books.get((int) ((long) i * bookCount / titleCount)).getTitle());
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            List<BookEntry> copy = new ArrayList<>(books);
+            long start = System.nanoTime();
+            int removed = 0;
+            for (String title : titles) {
+                removed += removeTitleWithIterator(copy, title) ? 1 : 0;
+            }
+            long iteratorNanos = System.nanoTime() - start;
+
+            LibraryData library = new LibraryData();
+            library.addEntries(books);
+            library.removeByTitle("nothing");
+            start = System.nanoTime();
+            int removedIndexed = 0;
+            for (String title : titles) {
+                removedIndexed += library.removeByTitle(title) != null ? 1 : 0;
+            }
+            long indexNanos = System.nanoTime() - start;
+
+            BenchmarkUtils.report(String.format("round %d: REMOVE TITLE iterator %,d removed in %,.1f ms,"
+                    + " index %,d removed in %,.1f ms", round, removed, iteratorNanos / 1e6, removedIndexed,
+                    indexNanos / 1e6));
+        }
+    }
+
+    private static boolean removeTitleWithIterator(List<BookEntry> books, String title) {
+        Iterator<BookEntry> iterator = books.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getTitle().equals(title)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int removeWithIterator(List<BookEntry> books, String author) {
+        int counter = 0;
+        Iterator<BookEntry> iterator = books.iterator();
+        while (iterator.hasNext()) {
+            if (Arrays.asList(iterator.next().getAuthors()).contains(author)) {
+                iterator.remove();
+                counter++;
+            }
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,42 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the former linear scan of SEARCH, which converts every title to
+ * upper case for every query, against the substring index of LibraryData.
+ *
+ * Usage: SearchBenchmark [path/to/book/data.csv]
+ */
+public class SearchBenchmark {
+
+    private static final String[] TERMS = { "HARRY", "THE", "CASTLE", "A", "XYZ" };
+
+    public static void main(String[] args) {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        BenchmarkUtils.silenceStdOut();
+
+        LibraryData library = new LibraryData();
+        library.loadData(csvFile);
+        List<BookEntry> books = library.getBookData();
+        BenchmarkUtils.report(String.format("%d books", books.size()));
+
+        for (String term : TERMS) {
+            BenchmarkUtils.report(String.format("term %s: %d hits", term, library.searchTitles(term).size()));
+            BenchmarkUtils.run("scan " + term, 1, () -> scan(books, term));
+            BenchmarkUtils.run("index " + term, 1, () -> library.searchTitles(term));
+        }
+    }
+
+    private static List<String> scan(List<BookEntry> books, String upperCaseTerm) {
+        List<String> found = new ArrayList<>();
+        for (BookEntry book : books) {
+            String title = book.getTitle();
+            if (title.toUpperCase().contains(upperCaseTerm)) {
+                found.add(title);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.Random;
+
+/**
+ * Finds the library size from which checking the titles of a SEARCH in
+ * parallel pays off. Synthetic libraries of growing size are searched for a
+ * single letter, which has to be checked against every title, once on the
+ * calling thread and once in parallel ranges.
+ *
+ * The threshold of SEARCH can be set to the measured crossover with
+ * -Dlibrary.search.parallelThreshold=N.
+ *
+ * Usage: SearchCrossoverBenchmark [largest library size]
+ */
+public class SearchCrossoverBenchmark {
+
+    private static final int DEFAULT_LARGEST_SIZE = 1_000_000;
+    private static final int SMALLEST_SIZE = 10_000;
+    private static final String TERM = "Q";
+    private static final String[] WORDS = { "Castle", "Harry", "Night", "River", "Quiet", "Winter", "Garden", "Story" };
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int largestSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LARGEST_SIZE;
+        BenchmarkUtils.report(String.format("%d cores", Runtime.getRuntime().availableProcessors()));
+
+        for (int size = SMALLEST_SIZE; size <= largestSize; size *= 3) {
+            TitleSearchIndex index = createIndex(size);
+            double sequential = BenchmarkUtils.run(String.format("%,d titles, sequential", size), size,
+                    () -> index.search(TERM, Integer.MAX_VALUE));
+            double parallel = BenchmarkUtils.run(String.format("%,d titles, parallel", size), size,
+                    () -> index.search(TERM, 0));
+            BenchmarkUtils.report(String.format("  parallel speedup %.2f", parallel / sequential));
+        }
+    }
+
+    private static TitleSearchIndex createIndex(int size) {
+        Random random = new Random(SEED);
+        TitleSearchIndex index = new TitleSearchIndex();
+        String[] authors = { "Author" };
+        for (int i = 0; i < size; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            index.add(i, new BookEntry(title, authors, 4f, "", 100));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,43 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compares loading book data from csv with ADD against restoring the same
+ * library from a binary snapshot with RESTORE.
+ *
+ * Usage: SnapshotBenchmark [path/to/book/data.csv]
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        Path snapshotFile = Files.createTempFile("library", ".snapshot");
+        BenchmarkUtils.silenceStdOut();
+
+        try {
+            LibraryData library = new LibraryData();
+            library.loadData(csvFile);
+            library.saveSnapshot(snapshotFile);
+            int books = library.getBookData().size();
+
+            BenchmarkUtils.report(String.format("%d books, csv %,d bytes, snapshot %,d bytes", books,
+                    Files.size(csvFile), Files.size(snapshotFile)));
+
+            BenchmarkUtils.run("ADD csv", books, () -> {
+                LibraryData data = new LibraryData();
+                data.loadData(csvFile);
+                return data;
+            });
+
+            BenchmarkUtils.run("RESTORE snapshot", books, () -> {
+                LibraryData data = new LibraryData();
+                data.restoreSnapshot(snapshotFile);
+                return data;
+            });
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Measures STATS sequentially and in parallel: the statistics of the whole
+ * library over the columns of a large synthetic library, and the statistics
+ * by author and by letter over a real book data file.
+ *
+ * Usage: StatsBenchmark [path/to/book/data.csv] [rows]
+ *
+ * Ten million rows need a heap of about 1 GB.
+ */
+public class StatsBenchmark {
+
+    private static final int DEFAULT_ROWS = 10_000_000;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROWS;
+        BenchmarkUtils.silenceStdOut();
+
+        StringDictionary dictionary = new StringDictionary();
+        String[] authors = {dictionary.intern("Synthetic Author")};
+        String title = dictionary.intern("Synthetic Title");
+        LibraryColumns columns = new LibraryColumns(dictionary);
+        Random random = new Random(SEED);
+        for (int i = 0; i < rows; i++) {
+            columns.add(new BookEntry(title, authors, random.nextInt(501) / 100f, "", 50 + random.nextInt(900)));
+        }
+        BenchmarkUtils.report(String.format("%,d rows, %d cores", rows, Runtime.getRuntime().availableProcessors()));
+        BenchmarkUtils.run("library stats, sequential", rows, () -> BookStats.of(columns, false));
+        BenchmarkUtils.run("library stats, parallel", rows, () -> BookStats.of(columns, true));
+
+        LibraryData library = new LibraryData();
+        library.loadData(csvFile);
+        int books = library.getBookData().size();
+        BenchmarkUtils.report(String.format("%s: %,d books", csvFile, books));
+        BenchmarkUtils.run("stats by author, sequential", books, () -> BookStats.byAuthor(library, false));
+        BenchmarkUtils.run("stats by author, parallel", books, () -> BookStats.byAuthor(library, true));
+        BenchmarkUtils.run("stats by letter, sequential", books, () -> BookStats.byLetter(library, false));
+        BenchmarkUtils.run("stats by letter, parallel", books, () -> BookStats.byLetter(library, true));
+    }
+}
@@ -0,0 +1,68 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Compares parsing book data rows with String.split against the BookRowTokenizer,
+ * both for rows given as strings and for rows read from a byte buffer.
+ *
+ * Usage: TokenizerBenchmark [path/to/book/data.csv]
+ */
+public class TokenizerBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "books03.csv");
+        List<String> lines = Files.readAllLines(file);
+        List<String> rows = lines.subList(1, lines.size());
+        byte[] content = Files.readAllBytes(file);
+        int[] rowStart = new int[rows.size()];
+        int[] rowEnd = new int[rows.size()];
+        findRows(content, rowStart, rowEnd);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+
+        BenchmarkUtils.report("Parsing " + rows.size() + " rows of " + file);
+
+        BenchmarkUtils.run("String.split", rows.size(), () -> {
+            BookEntry last = null;
+            for (String row : rows) {
+                last = BookRowTokenizer.parseWithSplit(row);
+            }
+            return last;
+        });
+
+        BookRowTokenizer tokenizer = new BookRowTokenizer();
+        BenchmarkUtils.run("BookRowTokenizer (String)", rows.size(), () -> {
+            BookEntry last = null;
+            for (String row : rows) {
+                last = tokenizer.parse(row);
+            }
+            return last;
+        });
+
+        BenchmarkUtils.run("BookRowTokenizer (ByteBuffer)", rows.size(), () -> {
+            BookEntry last = null;
+            for (int i = 0; i < rowStart.length; i++) {
+                last = tokenizer.parse(buffer, rowStart[i], rowEnd[i]);
+            }
+            return last;
+        });
+    }
+
+    private static void findRows(byte[] content, int[] rowStart, int[] rowEnd) {
+        int row = -1;
+        int lineStart = 0;
+        for (int i = 0; i <= content.length && row < rowStart.length; i++) {
+            if (i == content.length || content[i] == '\n') {
+                if (row >= 0) {
+                    rowStart[row] = lineStart;
+                    rowEnd[row] = i > lineStart && content[i - 1] == '\r' ? i - 1 : i;
+                }
+                row++;
+                lineStart = i + 1;
+            }
+        }
+    }
+}
@@ -2,6 +2,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -75,6 +79,61 @@ public class AddCmdBasicTest extends CommandTest {
         assertEquals(11371, booksLibrary.getBookData().size());
     }
 
+    @Test
+    public void testAddingBooksTwice(){
+        LibraryData booksLibrary = new LibraryData();
+        testCommand.parseArguments("books03.csv");
+        testCommand.execute(booksLibrary);
+        testCommand.execute(booksLibrary);
+        assertEquals(11371, booksLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testAddingBooksAfterRemove(){
+        LibraryData booksLibrary = new LibraryData();
+        testCommand.parseArguments("books01.csv");
+        testCommand.execute(booksLibrary);
+        int initialCount = booksLibrary.getBookData().size();
+
+        new RemoveCmd("AUTHOR J.K. Rowling").execute(booksLibrary);
+        new RemoveCmd("TITLE 1984").execute(booksLibrary);
+        assertTrue(booksLibrary.getBookData().size() < initialCount);
+
+        testCommand.execute(booksLibrary);
+        assertEquals(initialCount, booksLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testAddingMalformedRowLeavesLibraryUnchanged() throws IOException {
+        Path file = Files.createTempFile("malformed", ".csv");
+        try {
+            List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get("books01.csv")));
+            lines.add(lines.size() / 2, "Broken Row,Some Author,4.0,123456789,many");
+            Files.write(file, lines);
+            for (String argument : new String[] { file.toString(), Utils.PARALLEL + " " + file }) {
+                testCommand.parseArguments(argument);
+                testCommand.execute(testLibrary);
+                assertEquals("Failed ADD should not keep any rows.", 1, testLibrary.getBookData().size());
+                assertEquals("Failed ADD should not keep any authors.", 1, testLibrary.getBooksByAuthor().size());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBookDataIsReadOnly() {
+        testLibrary.getBookData().set(0, new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+    }
+
+    @Test
+    public void testAddEntriesUpdatesIndexes() {
+        BookEntry book = new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400);
+        assertEquals("Unexpected number of added books.", 1, testLibrary.addEntries(List.of(book, book)));
+        assertEquals("Unexpected books of the new author.", List.of(book),
+                new ArrayList<>(testLibrary.getBooksByAuthor().get("AuthorB")));
+    }
+
     @Test
     public void testParseArgumentsLegalArgument() {
         CommandTestUtils.checkArgumentInput(testCommand, true, TEST_PATH);
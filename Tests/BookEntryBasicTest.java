@@ -1,5 +1,9 @@
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -36,6 +40,18 @@ public class BookEntryBasicTest extends BookEntryTest {
         assertEquals("Unexpected " + fieldName + " returned by getter.", expected, actual);
     }
 
+    @Test
+    public void testGetTitleKey() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            BookEntry book = new BookEntry("istanbul Stories", new String[] { "Author" }, 3f, "ISBN", 10);
+            assertEquals("Unexpected title key.", "ISTANBUL STORIES", book.getTitleKey());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
     @Test
     public void testGetAuthors() {
         String fieldName = AUTHORS_FIELD_NAME;
@@ -132,6 +148,24 @@ public class BookEntryBasicTest extends BookEntryTest {
         checkEquality(bookA, bookB, PAGES_FIELD_NAME, false);
     }
 
+    @Test
+    public void testHashCodeValue() {
+        int expected = 31 * Objects.hash(DEFAULT_TITLE, DEFAULT_RATING, DEFAULT_ISBN, DEFAULT_PAGES)
+                + Arrays.hashCode(DEFAULT_AUTHORS);
+        assertEquals("Hashcode not computed as expected.", expected, testBook.hashCode());
+    }
+
+    @Test
+    public void testEqualsWithChangedAuthorsArgument() {
+        String[] authors = { "Author A", "Author B" };
+        BookEntry bookA = new BookEntry(DEFAULT_TITLE, authors, DEFAULT_RATING, DEFAULT_ISBN, DEFAULT_PAGES);
+        authors[1] = "Author C";
+        BookEntry bookB = new BookEntry(DEFAULT_TITLE, new String[] { "Author A", "Author B" }, DEFAULT_RATING,
+                DEFAULT_ISBN, DEFAULT_PAGES);
+
+        checkEquality(bookA, bookB, AUTHORS_FIELD_NAME, true);
+    }
+
     // ------------------------- check toString --------------------
 
     @Test
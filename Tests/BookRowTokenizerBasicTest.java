@@ -0,0 +1,105 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class BookRowTokenizerBasicTest {
+
+    protected BookRowTokenizer testTokenizer;
+
+    @Before
+    public void setup() {
+        testTokenizer = new BookRowTokenizer();
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private void checkSameAsSplit(String row) {
+        BookEntry expected = BookRowTokenizer.parseWithSplit(row);
+        assertEquals("Unexpected entry parsed from string: " + row, expected, testTokenizer.parse(row));
+
+        // surround the row with other bytes to check that only the given range is read
+        byte[] bytes = ("xx" + row + "\nyy").getBytes(StandardCharsets.UTF_8);
+        int end = bytes.length - 3;
+        assertEquals("Unexpected entry parsed from bytes: " + row, expected,
+                testTokenizer.parse(ByteBuffer.wrap(bytes), 2, end));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        assertEquals("Unexpected entry parsed from direct buffer: " + row, expected,
+                testTokenizer.parse(direct, 2, end));
+    }
+
+    private void checkSameExceptionAsSplit(String row) {
+        Class<?> expected = null;
+        try {
+            BookRowTokenizer.parseWithSplit(row);
+        } catch (RuntimeException e) {
+            expected = e.getClass();
+        }
+        assertNotNull("Row is expected to be invalid: " + row, expected);
+
+        try {
+            testTokenizer.parse(row);
+            fail("Exception expected for row: " + row);
+        } catch (RuntimeException e) {
+            assertEquals("Unexpected exception for row: " + row, expected, e.getClass());
+        }
+    }
+
+    // ------------------------- parse tests --------------------
+
+    @Test
+    public void testParseSimpleRow() {
+        BookEntry book = testTokenizer.parse("The Changeling,Zilpha Keatley Snyder,4.17,595321801,228");
+        BookEntryTestUtils.checkBookFieldValues(book, BookEntryTest.BOOK_ENTRY_FIELD_NAMES,
+                new Object[] { "The Changeling", new String[] { "Zilpha Keatley Snyder" }, 4.17f, "595321801", 228 });
+    }
+
+    @Test
+    public void testParseAuthors() {
+        checkSameAsSplit("Title,Author A-Author B-Author C,3.5,ISBN,10");
+        checkSameAsSplit("Title,Author A-,3.5,ISBN,10");
+        checkSameAsSplit("Title,-Author A,3.5,ISBN,10");
+        checkSameAsSplit("Title,Author A--Author B,3.5,ISBN,10");
+        checkSameAsSplit("Title,-,3.5,ISBN,10");
+        checkSameAsSplit("Title,,3.5,ISBN,10");
+    }
+
+    @Test
+    public void testParseRatingsExactly() {
+        for (int i = 0; i <= 500; i++) {
+            checkSameAsSplit("Title,Author," + (i / 100) + "." + String.format("%02d", i % 100) + ",ISBN,10");
+        }
+        checkSameAsSplit("Title,Author,4,ISBN,10");
+        checkSameAsSplit("Title,Author,4.,ISBN,10");
+        checkSameAsSplit("Title,Author,.5,ISBN,10");
+        checkSameAsSplit("Title,Author,3.123456789,ISBN,10");
+        checkSameAsSplit("Title,Author,+4.1,ISBN,10");
+        checkSameAsSplit("Title,Author,4e0,ISBN,10");
+    }
+
+    @Test
+    public void testParseUnusualRows() {
+        checkSameAsSplit(",Author,1.0,ISBN,10");
+        checkSameAsSplit("Title,Author,1.0,,10");
+        checkSameAsSplit("Title,Author,1.0,ISBN,10,extra,fields");
+        checkSameAsSplit("T\u00edtulo,Autor \u00e9,1.0,ISBN,+10");
+        checkSameAsSplit("Title,Author,1.0,ISBN,0010");
+    }
+
+    @Test
+    public void testParseInvalidRows() {
+        checkSameExceptionAsSplit("");
+        checkSameExceptionAsSplit("Title,Author,1.0,ISBN");
+        checkSameExceptionAsSplit("Title,Author,1.0,ISBN,");
+        checkSameExceptionAsSplit("Title,Author,abc,ISBN,10");
+        checkSameExceptionAsSplit("Title,Author,1.0,ISBN,hola2");
+        checkSameExceptionAsSplit("Title,Author,1.0,ISBN,99999999999");
+        checkSameExceptionAsSplit("Title,Author,6.0,ISBN,10");
+        checkSameExceptionAsSplit("Title,Author,1.0,ISBN,-10");
+    }
+}
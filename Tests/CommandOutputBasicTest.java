@@ -0,0 +1,49 @@
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CommandOutputBasicTest {
+
+    private static final String TITLE = "T\u00edtulo \u00c9t\u00e9 \u0392\u03b9\u03b2\u03bb\u03af\u03bf";
+
+    @Test(expected = NullPointerException.class)
+    public void testCtorNullStream() {
+        new CommandOutput(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCtorNullCharset() {
+        new CommandOutput(new ByteArrayOutputStream(), null);
+    }
+
+    @Test
+    public void testPrintStreamKeepsItsEncoding() {
+        for (String charset : new String[] { "UTF-8", "UTF-16LE", "ISO-8859-7" }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            PrintStream stream = new PrintStream(bytes, true, Charset.forName(charset));
+            CommandOutput out = new CommandOutput(stream, StandardCharsets.US_ASCII);
+            out.print(TITLE);
+            assertFalse("Writing should not fail.", out.checkError());
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            new PrintStream(expected, true, Charset.forName(charset)).print(TITLE);
+            assertArrayEquals("Output should be encoded like the PrintStream encodes it: " + charset,
+                    expected.toByteArray(), bytes.toByteArray());
+        }
+    }
+
+    @Test
+    public void testOtherStreamUsesGivenCharset() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CommandOutput out = new CommandOutput(bytes, StandardCharsets.UTF_16BE);
+        out.println(TITLE);
+        out.flush();
+        assertEquals("Unexpected output.", TITLE + System.lineSeparator(),
+                new String(bytes.toByteArray(), StandardCharsets.UTF_16BE));
+    }
+}
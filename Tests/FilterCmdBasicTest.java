@@ -0,0 +1,112 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FilterCmdBasicTest extends CommandTest {
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.FILTER;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new FilterCmd("rating>=4");
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[]{"AuthorA"}, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[]{"AuthorB", "Author With Spaces"}, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[]{"AuthorC"}, 1.3f, "ISBNC", 300));
+        bookData.add(new BookEntry("TitleD", new String[]{"Author With Spaces"}, 4f, "ISBND", 120));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "rating>4.2");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "  pages<300   rating>=4.2 ");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "pages=300");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "pages<=300 pages>=100");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "author=Author With Spaces rating<5");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "rating<5 author=AuthorA");
+    }
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, BLANK_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, false, "   ");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating >= 4");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating=>4");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating>high");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating>NaN");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "pages<3.5");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "isbn=ISBNA");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "author= rating>4");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteRatingAndPages() {
+        testCommand = new FilterCmd("rating>=4 pages<400");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "1 books match the filter:\nTitleD");
+
+        testCommand = new FilterCmd("rating>3.2");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "2 books match the filter:\nTitleB\nTitleD");
+
+        testCommand = new FilterCmd("pages=300");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "1 books match the filter:\nTitleC");
+    }
+
+    @Test
+    public void testExecuteAuthor() {
+        testCommand = new FilterCmd("author=Author With Spaces");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "2 books match the filter:\nTitleB\nTitleD");
+
+        testCommand = new FilterCmd("author=Author With Spaces pages>200");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "1 books match the filter:\nTitleB");
+    }
+
+    @Test
+    public void testExecuteNoMatches() {
+        testCommand = new FilterCmd("author=Unknown Author");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "No books match the filter: author=Unknown Author");
+        assertEquals("Filtering should not add authors to the dictionary.", -1,
+                testLibrary.getDictionary().find("Unknown Author"));
+
+        testCommand = new FilterCmd("pages>2147483647");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "No books match the filter: pages>2147483647");
+    }
+
+    @Test
+    public void testParallelFilterKeepsLibraryOrder() {
+        List<BookEntry> bookData = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            bookData.add(new BookEntry("Title" + i, new String[]{"Author" + i % 7}, (i % 501) / 100f, "ISBN" + i, i % 1000));
+        }
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        BookFilter filter = new BookFilter();
+        filter.addRatingRange(4.2f, Float.POSITIVE_INFINITY);
+        filter.addPagesRange(Integer.MIN_VALUE, 299);
+        filter.addAuthor("Author3");
+        int[] sequential = filter.select(testLibrary.getColumns(), Integer.MAX_VALUE);
+        int[] parallel = filter.select(testLibrary.getColumns(), 0);
+
+        assertTrue("Some books should match.", sequential.length > 0);
+        assertArrayEquals("Parallel and sequential filtering should find the same rows.", sequential, parallel);
+        for (int row : sequential) {
+            BookEntry book = bookData.get(row);
+            assertTrue("Unexpected match " + book, book.getRating() >= 4.2f && book.getPages() < 300
+                    && book.getAuthors()[0].equals("Author3"));
+        }
+    }
+}
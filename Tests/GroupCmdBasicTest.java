@@ -1,5 +1,6 @@
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -141,4 +142,34 @@ public class GroupCmdBasicTest extends GroupCmdTest {
         List<String> expectedGroups = List.of("A Author", "B Author", "C Author", "D Author", "E Author", "F Author");
         checkGroupOutputOrder(executeStdOutLines, expectedGroups);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExecuteGroupByTitleNonAsciiGroups() {
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("\u00c9mile", new String[] { "Author" }, 3.2f, "ISBN1", 500));
+        bookData.add(new BookEntry("\u03b1 Greek Title", new String[] { "Author" }, 3.2f, "ISBN2", 500));
+        bookData.add(new BookEntry("1984", new String[] { "Author" }, 3.2f, "ISBN3", 500));
+        bookData.add(new BookEntry("\u00e9t\u00e9", new String[] { "Author" }, 3.2f, "ISBN4", 500));
+        bookData.add(new BookEntry("'Salem's Lot", new String[] { "Author" }, 3.2f, "ISBN5", 500));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        assertEquals("Unexpected books grouped with E.", List.of(bookData.get(0), bookData.get(3)),
+                new ArrayList<>(testLibrary.getTitleBucket('E' - 'A')));
+        assertEquals("Unexpected books grouped with other letters.", List.of(bookData.get(1)),
+                new ArrayList<>(testLibrary.getTitleBucket(TitleBuckets.OTHER_LETTERS)));
+        assertEquals("Unexpected books grouped with numbers.", List.of(bookData.get(2), bookData.get(4)),
+                new ArrayList<>(testLibrary.getTitleBucket(TitleBuckets.NUMBERS)));
+
+        String[] executeStdOutLines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        checkGroupOutputOrder(executeStdOutLines, List.of("E", "[Other letters]", "[0-9]"));
+    }
+
+    @Test
+    public void testExecuteGroupByTitleAfterRemove() {
+        new RemoveCmd("TITLE A Title 2").execute(testLibrary);
+        new RemoveCmd("AUTHOR F Author").execute(testLibrary);
+        String[] executeStdOutLines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        checkGroupOutputOrder(executeStdOutLines, List.of("A", "B", "C", "D", "E"));
+        checkOutputLineCount(13);
+    }
+}
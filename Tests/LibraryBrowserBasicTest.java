@@ -0,0 +1,85 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class LibraryBrowserBasicTest {
+
+    protected LibraryBrowser testBrowser;
+    protected StdStreamIntercept intercept;
+
+    @Before
+    public void setup() {
+        testBrowser = new LibraryBrowser();
+        intercept = new StdStreamIntercept();
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private String[] runScript(String script, int expectedFailures) {
+        intercept.stdCaptureStart();
+        try {
+            assertEquals("Unexpected number of failed lines.", expectedFailures,
+                    testBrowser.runBatch(new StringReader(script)));
+            return intercept.getCapturedStdOut().replaceAll("\r", "").trim().split("\n");
+        } finally {
+            intercept.stdCaptureStop();
+        }
+    }
+
+    // ------------------------- runBatch tests --------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testRunBatchNull() {
+        testBrowser.runBatch(null);
+    }
+
+    @Test
+    public void testRunBatchPrintsOutputWithoutPrompts() {
+        String[] lines = runScript("ADD booksTestData01.csv\n\nLIST short\n", 0);
+
+        assertEquals("Unexpected output.", "2 new book entries added.", lines[0]);
+        assertEquals("Unexpected output.", "2 books in library:", lines[2]);
+        assertEquals("Unexpected output.", "The Changeling", lines[3]);
+        assertEquals("Unexpected output.", "Animal Farm", lines[4]);
+        for (String line : lines) {
+            assertFalse("Batch mode should not prompt.", line.startsWith("> "));
+        }
+    }
+
+    @Test
+    public void testRunBatchReportsTiming() {
+        String[] lines = runScript("ADD booksTestData01.csv\nLIST short\n", 0);
+
+        int header = lines.length - 4;
+        assertEquals("Unexpected timing header.", "Command timing:", lines[header]);
+        assertTrue("Unexpected timing line: " + lines[header + 1], lines[header + 1].matches("\\s+1\\s+\\d+\\.\\d{3} ms  ADD booksTestData01.csv"));
+        assertTrue("Unexpected timing line: " + lines[header + 2], lines[header + 2].matches("\\s+2\\s+\\d+\\.\\d{3} ms  LIST short"));
+        assertTrue("Unexpected total: " + lines[header + 3], lines[header + 3].matches("2 commands in \\d+\\.\\d{3} ms, wall time \\d+\\.\\d{3} ms\\."));
+    }
+
+    @Test
+    public void testRunBatchContinuesAfterInvalidLinesAndStopsAtExit() {
+        String[] lines = runScript("BOGUS\nADD booksTestData01.csv\nLIST nonsense\nEXIT\nLIST short\n", 2);
+
+        assertEquals("Unexpected output.", "2 new book entries added.", lines[0]);
+        assertEquals("Unexpected timing header.", "Command timing:", lines[2]);
+        assertEquals("Unexpected number of timing lines.", 5, lines.length);
+        assertTrue("Unexpected total: " + lines[4], lines[4].startsWith("1 commands in "));
+    }
+
+    @Test
+    public void testRunBatchRestoresStandardOutput() {
+        intercept.stdCaptureStart();
+        try {
+            PrintStream before = System.out;
+            testBrowser.runBatch(new StringReader("HELP\n"));
+            assertSame("Standard output should be restored.", before, System.out);
+        } finally {
+            intercept.stdCaptureStop();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class LibraryEventsBasicTest {
+
+    protected LibraryData testLibrary;
+    protected Recording recording;
+    protected Path recordingFile;
+
+    @Before
+    public void setup() throws IOException {
+        testLibrary = new LibraryData();
+        recordingFile = Files.createTempFile("library", ".jfr");
+        recording = new Recording();
+        for (String name : new String[]{"library.Load", "library.Merge", "library.Search", "library.Remove", "library.Group"}) {
+            recording.enable(name).withoutThreshold();
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        recording.close();
+        Files.deleteIfExists(recordingFile);
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private void stopRecording() throws IOException {
+        recording.stop();
+        recording.dump(recordingFile);
+    }
+
+    private List<RecordedEvent> recordedEvents(String name) throws IOException {
+        return RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static void run(LibraryCommand command, LibraryData library) {
+        CommandTestUtils.captureExecuteStdOutput(command, library);
+    }
+
+    // ------------------------- event tests --------------------
+
+    @Test
+    public void testLoadAndMergeEvents() throws IOException {
+        recording.start();
+        run(new AddCmd("books01.csv"), testLibrary);
+        run(new AddCmd("books01.csv"), testLibrary);
+        stopRecording();
+        List<RecordedEvent> loads = recordedEvents("library.Load");
+
+        assertEquals("Unexpected number of load events.", 2, loads.size());
+        RecordedEvent load = loads.get(0);
+        assertEquals("Unexpected mode.", "stream", load.getString("mode"));
+        assertEquals("Unexpected rows.", 24, load.getLong("rows"));
+        assertEquals("Unexpected bytes.", Files.size(Paths.get("books01.csv")), load.getLong("bytes"));
+        assertTrue("Load should succeed.", load.getBoolean("success"));
+
+        List<RecordedEvent> merges = recordedEvents("library.Merge");
+        assertEquals("Unexpected number of merge events.", 2, merges.size());
+        assertEquals("Unexpected added books.", 24, merges.get(0).getLong("added"));
+        assertEquals("Unexpected added books.", 0, merges.get(1).getLong("added"));
+        assertEquals("Unexpected duplicates.", 24, merges.get(1).getLong("duplicates"));
+        assertEquals("Unexpected library size.", 24, merges.get(1).getLong("librarySize"));
+    }
+
+    @Test
+    public void testSearchRemoveAndGroupEvents() throws IOException {
+        run(new AddCmd("books01.csv"), testLibrary);
+        recording.start();
+        run(new SearchCmd("harry"), testLibrary);
+        run(new RemoveCmd("AUTHOR J.K. Rowling"), testLibrary);
+        run(new GroupCmd("AUTHOR"), testLibrary);
+        stopRecording();
+
+        RecordedEvent search = recordedEvents("library.Search").get(0);
+        assertEquals("Unexpected search term.", "HARRY", search.getString("term"));
+        assertEquals("Unexpected hits.", 3, search.getLong("hits"));
+
+        RecordedEvent remove = recordedEvents("library.Remove").get(0);
+        assertEquals("Unexpected mode.", "AUTHOR", remove.getString("mode"));
+        assertEquals("Unexpected value.", "J.K. Rowling", remove.getString("value"));
+        assertEquals("Unexpected removed books.", 3, remove.getLong("removed"));
+
+        RecordedEvent group = recordedEvents("library.Group").get(0);
+        assertEquals("Unexpected mode.", "AUTHOR", group.getString("mode"));
+        assertEquals("Unexpected groups.", testLibrary.getBooksByAuthor().size(), group.getLong("groups"));
+    }
+
+    @Test
+    public void testNoEventsWithoutRecording() throws IOException {
+        run(new AddCmd("books01.csv"), testLibrary);
+        recording.start();
+        stopRecording();
+        assertTrue("No load should be recorded before the recording started.", recordedEvents("library.Load").isEmpty());
+    }
+}
@@ -1,5 +1,10 @@
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,4 +51,76 @@ public class LibraryFileLoaderBasicTest extends LibraryFileLoaderTest {
             intercept.stdCaptureStop();
         }
     }
+
+    // ------------------------- check streamFileContent --------------------
+
+    @Test
+    public void testStreamFileContentMatchesParseFileContent() {
+        assertTrue(testFileLoader.loadFileContent(Paths.get("books03.csv")));
+        List<BookEntry> parsed = testFileLoader.parseFileContent();
+
+        List<BookEntry> streamed = new ArrayList<>();
+        long rows = new LibraryFileLoader().streamFileContent(Paths.get("books03.csv"), streamed::add);
+
+        assertEquals("Unexpected number of rows streamed.", parsed.size(), rows);
+        assertEquals("Streamed book data differs from parsed book data.", parsed, streamed);
+    }
+
+    @Test
+    public void testStreamFileContentMissingFile() {
+        List<BookEntry> streamed = new ArrayList<>();
+        long rows = testFileLoader.streamFileContent(Paths.get("does/not/exist.csv"), streamed::add);
+
+        assertEquals("Missing file is expected to be reported with -1.", -1, rows);
+        assertTrue(streamed.isEmpty());
+    }
+
+    // ------------------------- check parseFileParallel --------------------
+
+    @Test
+    public void testParseFileParallelMatchesParseFileContent() {
+        assertTrue(testFileLoader.loadFileContent(Paths.get("books03.csv")));
+        List<BookEntry> parsed = testFileLoader.parseFileContent();
+
+        // small chunks so that the file is split into many chunks
+        List<BookEntry> parallel = new LibraryFileLoader().parseFileParallel(Paths.get("books03.csv"), 4096);
+        assertEquals("Parallel book data differs from parsed book data.", parsed, parallel);
+    }
+
+    @Test
+    public void testParseFileParallelSingleByteChunks() {
+        assertTrue(testFileLoader.loadFileContent(Paths.get("booksTestData01.csv")));
+        List<BookEntry> parsed = testFileLoader.parseFileContent();
+
+        List<BookEntry> parallel = new LibraryFileLoader().parseFileParallel(Paths.get("booksTestData01.csv"), 1);
+        assertEquals("Parallel book data differs from parsed book data.", parsed, parallel);
+    }
+
+    // ------------------------- check line endings --------------------
+
+    @Test
+    public void testCarriageReturnLineEndings() throws IOException {
+        assertTrue(testFileLoader.loadFileContent(Paths.get("books03.csv")));
+        List<BookEntry> parsed = testFileLoader.parseFileContent();
+        String content = String.join("\n", Files.readAllLines(Paths.get("books03.csv"), StandardCharsets.UTF_8));
+
+        for (String lineEnd : new String[] { "\r", "\r\n" }) {
+            Path file = Files.createTempFile("lineEnds", ".csv");
+            try {
+                Files.write(file, (content.replace("\n", lineEnd) + lineEnd).getBytes(StandardCharsets.UTF_8));
+
+                List<BookEntry> streamed = new ArrayList<>();
+                long rows = new LibraryFileLoader().streamFileContent(file, streamed::add);
+                assertEquals("Unexpected number of rows streamed.", parsed.size(), rows);
+                assertEquals("Streamed book data differs from parsed book data.", parsed, streamed);
+
+                for (int chunkBytes : new int[] { 1, 4096 }) {
+                    List<BookEntry> parallel = new LibraryFileLoader().parseFileParallel(file, chunkBytes);
+                    assertEquals("Parallel book data differs from parsed book data.", parsed, parallel);
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
 }
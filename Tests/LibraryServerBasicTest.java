@@ -0,0 +1,129 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+public class LibraryServerBasicTest {
+
+    protected LibraryData testLibrary;
+    protected LibraryServer server;
+    protected HttpClient client;
+
+    @Before
+    public void setup() throws IOException {
+        testLibrary = new LibraryData();
+        server = new LibraryServer(testLibrary, Paths.get("."), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private static void assertResponse(HttpResponse<String> response, int status, String bodyPart) {
+        assertEquals("Unexpected status for body " + response.body(), status, response.statusCode());
+        assertTrue("Unexpected body: " + response.body(), response.body().contains(bodyPart));
+    }
+
+    // ------------------------- endpoint tests --------------------
+
+    @Test(expected = NullPointerException.class)
+    public void testCtorNullLibrary() throws IOException {
+        new LibraryServer(null, Paths.get("."), 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCtorMissingDataDirectory() throws IOException {
+        new LibraryServer(new LibraryData(), Paths.get("no-such-directory"), 0);
+    }
+
+    @Test
+    public void testAddAndSearch() throws IOException, InterruptedException {
+        assertResponse(post("/add", "path=books01.csv"), 200, "{\"added\":24,\"total\":24}");
+
+        HttpResponse<String> search = get("/search?term=harry");
+        assertResponse(search, 200, "\"title\":\"Harry Potter and the Chamber of Secrets (Harry Potter  #2)\"");
+        assertEquals("Unexpected content type.", "application/json; charset=utf-8",
+                search.headers().firstValue("Content-Type").orElse(""));
+        assertResponse(get("/search?term=xyz"), 200, "\"books\":[]");
+    }
+
+    @Test
+    public void testAddOnlyReadsDataDirectory() throws IOException, InterruptedException {
+        assertResponse(post("/add", "path=../books01.csv"), 400, "inside the data directory");
+        assertResponse(post("/add", "path=" + Paths.get("books01.csv").toAbsolutePath().getParent().getParent()
+                .resolve("x.csv")), 400, "inside the data directory");
+        assertResponse(post("/add", "path=" + Paths.get("books01.csv").toAbsolutePath()), 200, "\"added\":24");
+    }
+
+    @Test
+    public void testAddDiscardsDuplicatesSilently() throws IOException, InterruptedException {
+        PrintStream stdOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+        try {
+            post("/add", "path=books01.csv");
+            assertResponse(post("/add", "path=books01.csv"), 200, "{\"added\":0,\"total\":24}");
+        } finally {
+            System.setOut(stdOut);
+        }
+        assertFalse("Duplicates should not be printed: " + output, output.toString().contains("Duplicate entry"));
+    }
+
+    @Test
+    public void testList() throws IOException, InterruptedException {
+        post("/add", "path=books01.csv");
+        HttpResponse<String> list = get("/list?limit=2&offset=1&sort=pages&order=desc");
+        assertResponse(list, 200, "\"total\":24,\"offset\":1,\"count\":2");
+    }
+
+    @Test
+    public void testGroupAndRemove() throws IOException, InterruptedException {
+        post("/add", "path=books01.csv");
+        assertResponse(get("/group?by=author"), 200, "\"J.K. Rowling\"");
+        assertResponse(post("/remove", "author=J.K.%20Rowling"), 200, "{\"removed\":3,\"total\":21}");
+        assertFalse("Removed author should not be grouped.", get("/group?by=author").body().contains("J.K. Rowling"));
+    }
+
+    @Test
+    public void testErrors() throws IOException, InterruptedException {
+        assertResponse(get("/unknown"), 404, "\"error\"");
+        HttpResponse<String> wrongMethod = get("/add?path=books01.csv");
+        assertResponse(wrongMethod, 405, "\"error\"");
+        assertEquals("Unexpected Allow header.", "POST", wrongMethod.headers().firstValue("Allow").orElse(""));
+        assertResponse(get("/search"), 400, "\"error\"");
+        assertResponse(get("/list?limit=abc"), 400, "\"error\"");
+        assertResponse(get("/group?by=rating"), 400, "\"error\"");
+        assertResponse(post("/remove", "title=x&author=y"), 400, "\"error\"");
+        assertResponse(post("/add", "path=no-such-file.csv"), 400, "\"error\"");
+        assertTrue("Library should be unchanged.", testLibrary.getBookData().isEmpty());
+    }
+}
@@ -1,4 +1,8 @@
 import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -83,6 +87,43 @@ public class ListCmdBasicTest extends ListCmdTest {
 
     }
 
+    @Test
+    public void testParseArgumentsPaging() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short limit 10");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "  long   offset 3  limit 1 ");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "limit 5");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short cursor 1-a-5");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short limit 2 cursor 1-a-5");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short cursor 1-a-5 limit 2");
+
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short limit");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short limit 0");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short limit -3");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short offset -1");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short limit ten");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short limit 1 limit 2");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short offset 1 cursor 1-a-5");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short cursor 1-a-5 offset 1");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short cursor nonsense");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short cursor 1-a");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short page 2");
+    }
+
+    @Test
+    public void testParseArgumentsSorting() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short sort rating");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "long sort pages desc limit 2");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "sort title asc");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short limit 2 sort rating desc cursor 1-a-5");
+
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short sort");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short sort isbn");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short sort rating up");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short sort rating sort pages");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short sort RATING");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short desc");
+    }
+
     // ------------------------- execute tests --------------------
 
     @Test
@@ -116,4 +157,105 @@ public class ListCmdBasicTest extends ListCmdTest {
         CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
     }
 
+    @Test
+    public void testExecuteToInjectedOutput() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        testCommand.setOutput(output);
+        String stdOut = CommandTestUtils.captureExecuteStdOutput(testCommand, testLibrary);
+
+        assertEquals("Nothing should be printed to the standard output.", "", stdOut.trim());
+        String expectedOutput = "3 books in library:\nTitleA\nTitleB\nTitleC";
+        assertEquals("Unexpected output written to the injected stream.", expectedOutput,
+                output.toString().replaceAll("\r", "").trim());
+    }
+
+    @Test
+    public void testExecutePagedListWithCursor() {
+        testCommand = new ListCmd("short limit 2");
+        String[] firstPage = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        assertEquals("Unexpected first page.", "TitleB", firstPage[2]);
+        String footer = firstPage[firstPage.length - 1];
+        String continuation = "Continue with: LIST ";
+        assertTrue("First page should print how to continue.", footer.startsWith("Showing books 1 to 2. " + continuation));
+
+        testCommand = new ListCmd(footer.substring(footer.indexOf(continuation) + continuation.length()));
+        String expectedConsoleOutput = "3 books in library:\nTitleC\nShowing books 3 to 3.";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
+    @Test
+    public void testExecutePagedListWithOffset() {
+        testCommand = new ListCmd("short offset 1 limit 1");
+        String[] lines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        assertEquals("Unexpected page.", "TitleB", lines[1]);
+
+        testCommand = new ListCmd("short offset 3");
+        String expectedConsoleOutput = "3 books in library:\nNo books at offset 3.";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
+    @Test
+    public void testExecuteStaleCursor() {
+        testCommand = new ListCmd("short limit 1");
+        String[] firstPage = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        String footer = firstPage[firstPage.length - 1];
+        String cursor = footer.substring(footer.lastIndexOf(' ') + 1);
+
+        new RemoveCmd("TITLE TitleC").execute(testLibrary);
+        testCommand = new ListCmd("short cursor " + cursor);
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "");
+    }
+
+    @Test
+    public void testExecuteSortedList() {
+        testCommand = new ListCmd("short sort rating desc");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "3 books in library:\nTitleB\nTitleA\nTitleC");
+
+        testCommand = new ListCmd("short sort pages");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "3 books in library:\nTitleC\nTitleB\nTitleA");
+
+        testCommand = new ListCmd("short sort title desc");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "3 books in library:\nTitleC\nTitleB\nTitleA");
+    }
+
+    @Test
+    public void testExecuteSortedPagedListWithCursor() {
+        testCommand = new ListCmd("short sort pages desc limit 2");
+        String[] firstPage = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        assertEquals("Unexpected first book.", "TitleA", firstPage[1]);
+        assertEquals("Unexpected second book.", "TitleB", firstPage[2]);
+        String footer = firstPage[firstPage.length - 1];
+        String continuation = "Continue with: LIST ";
+        assertTrue("Continuation should keep the order.", footer.contains(continuation + "short sort pages desc cursor "));
+
+        testCommand = new ListCmd(footer.substring(footer.indexOf(continuation) + continuation.length()));
+        String expectedConsoleOutput = "3 books in library:\nTitleC\nShowing books 3 to 3.";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
+    @Test
+    public void testSortedBooksKeepLibraryOrderOfEqualKeys() {
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("banana", new String[]{"AuthorA"}, 4.25f, "ISBN1", 100));
+        bookData.add(new BookEntry("Apple", new String[]{"AuthorB"}, 4.251f, "ISBN2", 100));
+        bookData.add(new BookEntry("cherry", new String[]{"AuthorC"}, 4.25f, "ISBN3", 200));
+        bookData.add(new BookEntry("apple", new String[]{"AuthorD"}, 0f, "ISBN4", 100));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        assertEquals("Unexpected ascending rating order.", List.of(bookData.get(3), bookData.get(0), bookData.get(2), bookData.get(1)),
+                testLibrary.getSortedBooks(SortKey.RATING, false, 0, 4));
+        assertEquals("Unexpected descending rating order.", List.of(bookData.get(1), bookData.get(0), bookData.get(2), bookData.get(3)),
+                testLibrary.getSortedBooks(SortKey.RATING, true, 0, 4));
+        assertEquals("Unexpected descending page order.", List.of(bookData.get(2), bookData.get(0), bookData.get(1), bookData.get(3)),
+                testLibrary.getSortedBooks(SortKey.PAGES, true, 0, 4));
+        assertEquals("Titles should be sorted ignoring case.", List.of(bookData.get(1), bookData.get(3), bookData.get(0), bookData.get(2)),
+                testLibrary.getSortedBooks(SortKey.TITLE, false, 0, 4));
+        assertEquals("Unexpected page of titles.", List.of(bookData.get(0)),
+                testLibrary.getSortedBooks(SortKey.TITLE, false, 2, 1));
+
+        List<BookEntry> remaining = List.of(bookData.get(0), bookData.get(2), bookData.get(3));
+        testLibrary.removeByTitle("Apple");
+        assertEquals("Removed books should not be sorted.", remaining,
+                testLibrary.getSortedBooks(SortKey.RATING, true, 0, 4));
+    }
 }
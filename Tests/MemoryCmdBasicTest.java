@@ -0,0 +1,172 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MemoryCmdBasicTest extends CommandTest {
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.MEMORY;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new MemoryCmd(BLANK_ARGUMENT);
+        testLibrary = new LibraryData();
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, "short");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "  long  ");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "    ");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteEmptyLibrary() {
+        String[] expectedConsoleOutput = {
+                "0 distinct titles and authors for 0 references.",
+                "Estimated string memory: 0 bytes, dictionary overhead: 0 bytes.",
+                "Estimated memory saved by shared strings: 0 bytes (net 0 bytes).",
+                "Column store (scan copy next to the book entries): 20484 bytes for 0 books."
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+    }
+
+    @Test
+    public void testExecuteAfterLoadingTwice() {
+        new AddCmd("books01.csv").execute(testLibrary);
+        int distinctStrings = testLibrary.getDictionary().size();
+        String[] once = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+
+        new AddCmd("books01.csv").execute(testLibrary);
+        assertEquals("Loading the same file again should not add strings.", distinctStrings,
+                testLibrary.getDictionary().size());
+        assertArrayEquals("Discarded duplicates should not count as references or savings.", once,
+                CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary));
+    }
+
+    @Test
+    public void testExecuteAfterRemove() {
+        new AddCmd("books01.csv").execute(testLibrary);
+        new RemoveCmd("AUTHOR J.K. Rowling").execute(testLibrary);
+        new RemoveCmd("AUTHOR J.K. Rowling").execute(testLibrary);
+
+        int books = testLibrary.getBookData().size();
+        long references = 0;
+        for (BookEntry book : testLibrary.getBookData()) {
+            references += 1 + book.getAuthors().length;
+        }
+        String firstLine = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary)[0];
+        assertTrue("References should only count the " + books + " loaded books: " + firstLine,
+                firstLine.endsWith(" for " + references + " references."));
+    }
+
+    @Test
+    public void testExecuteAfterRemovingEverything() {
+        new AddCmd("books01.csv").execute(testLibrary);
+        for (BookEntry book : new ArrayList<>(testLibrary.getBookData())) {
+            for (String author : book.getAuthors()) {
+                testLibrary.removeByAuthor(author);
+            }
+        }
+        String[] lines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        assertEquals("Unexpected first line.", "0 distinct titles and authors for 0 references.", lines[0]);
+        assertEquals("Removed strings should not be estimated.",
+                "Estimated string memory: 0 bytes, dictionary overhead: 0 bytes.", lines[1]);
+        assertEquals("Removed strings should not be estimated.",
+                "Estimated memory saved by shared strings: 0 bytes (net 0 bytes).", lines[2]);
+    }
+
+    @Test
+    public void testRestoreDropsRemovedStrings() throws IOException {
+        Path snapshotFile = Files.createTempFile("library", ".snapshot");
+        try {
+            new AddCmd("books01.csv").execute(testLibrary);
+            new SnapshotCmd(snapshotFile.toString()).execute(testLibrary);
+            int distinctStrings = testLibrary.getDictionary().size();
+            new AddCmd("books03.csv").execute(testLibrary);
+            assertTrue("Loading more books should add strings.", testLibrary.getDictionary().size() > distinctStrings);
+
+            new RestoreCmd(snapshotFile.toString()).execute(testLibrary);
+            assertEquals("Restoring should only keep the strings of the restored books.", distinctStrings,
+                    testLibrary.getDictionary().size());
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    @Test
+    public void testExecuteAfterRestore() throws IOException {
+        Path snapshotFile = Files.createTempFile("library", ".snapshot");
+        try {
+            new AddCmd("books01.csv").execute(testLibrary);
+            String[] loaded = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+            new SnapshotCmd(snapshotFile.toString()).execute(testLibrary);
+            new RestoreCmd(snapshotFile.toString()).execute(testLibrary);
+            assertArrayEquals("Restoring the same books should not change the report.", loaded,
+                    CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary));
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    @Test
+    public void testAuthorsAreShared() {
+        new AddCmd("books03.csv").execute(testLibrary);
+
+        Map<String, String> firstInstances = new HashMap<>();
+        List<BookEntry> books = testLibrary.getBookData();
+        for (BookEntry book : books) {
+            for (String author : book.getAuthors()) {
+                String first = firstInstances.putIfAbsent(author, author);
+                if (first != null) {
+                    assertSame("Equal authors should share one instance.", first, author);
+                }
+            }
+        }
+        assertEquals("Unexpected dictionary string for author.", books.get(0).getAuthors()[0],
+                testLibrary.getDictionary().get(testLibrary.getDictionary().idOf(books.get(0).getAuthors()[0])));
+    }
+
+    @Test
+    public void testColumnsFollowBooks() {
+        new AddCmd("books01.csv").execute(testLibrary);
+        new RemoveCmd("AUTHOR " + testLibrary.getBookData().get(1).getAuthors()[0]).execute(testLibrary);
+        new RemoveCmd("TITLE " + testLibrary.getBookData().get(0).getTitle()).execute(testLibrary);
+
+        List<BookEntry> books = testLibrary.getBookData();
+        LibraryColumns columns = testLibrary.getColumns();
+        StringDictionary dictionary = columns.getDictionary();
+        assertEquals("Every book should have a row.", books.size(), columns.size());
+        for (int row = 0; row < books.size(); row++) {
+            BookEntry book = books.get(row);
+            assertEquals("Unexpected rating.", book.getRating(), columns.rating(row), 0f);
+            assertEquals("Unexpected pages.", book.getPages(), columns.pages(row));
+            assertEquals("Unexpected title.", book.getTitle(), dictionary.get(columns.titleId(row)));
+            String[] authors = new String[columns.authorCount(row)];
+            for (int i = 0; i < authors.length; i++) {
+                authors[i] = dictionary.get(columns.authorId(row, i));
+            }
+            assertArrayEquals("Unexpected authors.", book.getAuthors(), authors);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsCmdBasicTest extends CommandTest {
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.METRICS;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new MetricsCmd(BLANK_ARGUMENT);
+        testLibrary = new LibraryData();
+        CommandMetrics.shared().reset();
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, "ADD");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "  reset  ");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "    ");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteNoCommandsRun() {
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "No commands have been run yet.");
+    }
+
+    @Test
+    public void testExecuteAfterInterpretedCommands() {
+        CommandInterpreter interpreter = new CommandInterpreter();
+        CommandTestUtils.captureExecuteStdOutput(new HelpCmd(BLANK_ARGUMENT), testLibrary);
+        interpreter.executeCommand(new MemoryCmd(BLANK_ARGUMENT), testLibrary);
+        interpreter.executeCommand(new MemoryCmd(BLANK_ARGUMENT), testLibrary);
+
+        String[] lines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        assertEquals("Only interpreted commands should be recorded.", 1, lines.length);
+        assertTrue("Unexpected metrics: " + lines[0], lines[0].matches(
+                "MEMORY: 2 runs, total \\d+\\.\\d{3} ms, p50 \\d+\\.\\d{3} ms, p90 \\d+\\.\\d{3} ms, p99 \\d+\\.\\d{3} ms, max \\d+\\.\\d{3} ms"));
+        assertEquals("Unexpected number of runs.", 2, CommandMetrics.shared().get(CommandType.MEMORY).getCount());
+    }
+
+    // ------------------------- histogram tests --------------------
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("Empty histograms have no percentiles.", 0, histogram.percentile(50));
+        for (long nanos = 1; nanos <= 1_000_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals("Unexpected count.", 1_000_000, histogram.getCount());
+        assertEquals("Unexpected total.", 500_000_500_000L, histogram.getTotalNanos());
+        assertEquals("Unexpected maximum.", 1_000_000, histogram.getMaxNanos());
+        assertEquals("The largest percentile should be the maximum.", 1_000_000, histogram.percentile(100));
+        assertEquals("Small latencies should be exact.", 1, histogram.percentile(0));
+        for (double percent : new double[]{50, 90, 99, 99.9}) {
+            long exact = (long) (percent * 10_000);
+            long estimate = histogram.percentile(percent);
+            assertTrue("Percentile " + percent + " should not be below " + exact + ": " + estimate, estimate >= exact);
+            assertTrue("Percentile " + percent + " is too far above " + exact + ": " + estimate, estimate <= exact + exact / 16);
+        }
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        long previousHighest = -1;
+        for (long nanos : new long[]{0, 1, 31, 32, 33, 47, 48, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            assertTrue("Latency " + nanos + " should be at most the highest of its bucket.", nanos <= LatencyHistogram.highestOf(bucket));
+            assertTrue("Buckets should grow with the latency.", LatencyHistogram.highestOf(bucket) >= previousHighest);
+            previousHighest = LatencyHistogram.highestOf(bucket);
+        }
+        assertEquals("Unexpected bucket.", LatencyHistogram.bucketOf(32), LatencyHistogram.bucketOf(33));
+        assertNotEquals("Unexpected bucket.", LatencyHistogram.bucketOf(33), LatencyHistogram.bucketOf(34));
+    }
+
+    @Test
+    public void testHistogramConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i * 4L + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("No latency should be lost.", 400_000, histogram.getCount());
+        assertEquals("Unexpected maximum.", 399_999, histogram.getMaxNanos());
+        assertEquals("Unexpected total.", 399_999L * 400_000 / 2, histogram.getTotalNanos());
+    }
+}
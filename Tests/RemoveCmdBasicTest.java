@@ -242,4 +242,80 @@ public class RemoveCmdBasicTest extends RemoveCmdTest {
     public void testExecuteNotFound() {
         checkEntryNotFound();
     }
+
+    @Test
+    public void testRemoveTitleRemovesFirstOfEqualTitles() {
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+        List<BookEntry> expected = new ArrayList<>(bookData.subList(1, 2));
+
+        new RemoveCmd("TITLE TitleA").execute(testLibrary);
+        assertEquals("Only the first book with the title should be removed.", expected, testLibrary.getBookData());
+    }
+
+    @Test
+    public void testRemoveAuthorMatchesScan() {
+        addDatabase5.execute(data2);
+        String author = "J.K. Rowling";
+        List<BookEntry> expected = new ArrayList<>();
+        for (BookEntry book : data2.getBookData()) {
+            if (!java.util.Arrays.asList(book.getAuthors()).contains(author)) {
+                expected.add(book);
+            }
+        }
+
+        testCommandByAuthors.execute(data2);
+        assertEquals("Unexpected books left after removing author.", expected, data2.getBookData());
+        assertEquals("Removed author should not be found again.", 0, data2.removeByAuthor(author));
+    }
+
+    @Test
+    public void testRemoveAndAddAgain() {
+        addDatabase5.execute(data2);
+        int size = data2.getBookData().size();
+        testCommandByAuthors.execute(data2);
+        new RemoveCmd("TITLE 1984").execute(data2);
+
+        addDatabase5.execute(data2);
+        assertEquals("Removed books should be added again.", size, data2.getBookData().size());
+        String expectedOutput = "1984: removed successfully.";
+        CommandTestUtils.checkExecuteConsoleOutput(new RemoveCmd("TITLE 1984"), data2, expectedOutput);
+    }
+
+    @Test
+    public void testRemoveTitleKeepsIndexesInStep() {
+        addDatabase5.execute(data2);
+        List<BookEntry> expected = new ArrayList<>(data2.getBookData());
+        for (int i = expected.size() - 1; i >= 0; i -= 3) {
+            BookEntry removed = expected.remove(i);
+            assertSame("Unexpected book removed.", removed, data2.removeByTitle(removed.getTitle()));
+        }
+        assertEquals("Unexpected books left after removing titles.", expected, data2.getBookData());
+
+        LibraryData fresh = new LibraryData();
+        fresh.addEntries(expected);
+        LibraryColumns columns = data2.getColumns();
+        LibraryColumns freshColumns = fresh.getColumns();
+        assertEquals("Unexpected number of rows.", freshColumns.size(), columns.size());
+        for (int row = 0; row < columns.size(); row++) {
+            assertEquals("Unexpected pages in row " + row, freshColumns.pages(row), columns.pages(row));
+            assertEquals("Unexpected title in row " + row, expected.get(row).getTitle(),
+                    columns.getDictionary().get(columns.titleId(row)));
+            assertEquals("Unexpected number of authors in row " + row, freshColumns.authorCount(row),
+                    columns.authorCount(row));
+            for (int author = 0; author < columns.authorCount(row); author++) {
+                assertEquals("Unexpected author in row " + row, expected.get(row).getAuthors()[author],
+                        columns.getDictionary().get(columns.authorId(row, author)));
+            }
+        }
+        for (SortKey key : SortKey.values()) {
+            assertEquals("Unexpected sort order by " + key, fresh.getSortedBooks(key, false, 0, expected.size() + 1),
+                    data2.getSortedBooks(key, false, 0, expected.size() + 1));
+        }
+        for (int bucket = 0; bucket < TitleBuckets.BUCKET_COUNT; bucket++) {
+            assertEquals("Unexpected title bucket " + bucket, fresh.getTitleBucket(bucket), data2.getTitleBucket(bucket));
+        }
+    }
 }
@@ -0,0 +1,117 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RestoreCmdBasicTest extends CommandTest {
+
+    private Path snapshotFile;
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.RESTORE;
+    }
+
+    @Before
+    public void setup() throws IOException {
+        snapshotFile = Files.createTempFile("library", ".snapshot");
+        testCommand = new RestoreCmd(snapshotFile.toString());
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, "");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "    ");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "library.snapshot");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteReplacesLibrary() {
+        LibraryData library = new LibraryData();
+        new AddCmd("books01.csv").execute(library);
+        new SnapshotCmd(snapshotFile.toString()).execute(library);
+
+        testCommand.execute(testLibrary);
+        assertEquals("Restored library should only contain the snapshot entries.", library.getBookData(),
+                testLibrary.getBookData());
+    }
+
+    @Test
+    public void testExecuteInvalidSnapshotKeepsLibrary() throws IOException {
+        Files.write(snapshotFile, "title,authors,average_rating,isbn,# num_pages".getBytes());
+        List<BookEntry> before = new ArrayList<>(testLibrary.getBookData());
+
+        testCommand.execute(testLibrary);
+        assertEquals("Library should not change if the snapshot is invalid.", before, testLibrary.getBookData());
+    }
+
+    @Test
+    public void testExecuteOversizedCountKeepsLibrary() throws IOException {
+        writeSnapshotHeader(Integer.MAX_VALUE);
+        List<BookEntry> before = new ArrayList<>(testLibrary.getBookData());
+
+        testCommand.execute(testLibrary);
+        assertEquals("Library should not change if a count is out of range.", before, testLibrary.getBookData());
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadCountBeyondFileSize() throws IOException {
+        writeSnapshotHeader(1000);
+        LibrarySnapshot.read(snapshotFile, new StringDictionary());
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadBookCountBeyondFileSize() throws IOException {
+        LibrarySnapshot.write(new ArrayList<>(), snapshotFile);
+        byte[] empty = Files.readAllBytes(snapshotFile);
+        // replace the book count 0 by a large count
+        byte[] corrupt = Arrays.copyOf(empty, empty.length + 4);
+        System.arraycopy(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 }, 0,
+                corrupt, empty.length - 1, 5);
+        Files.write(snapshotFile, corrupt);
+        LibrarySnapshot.read(snapshotFile, new StringDictionary());
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    /** Write the magic number, the version and the given string count, but no strings. */
+    private void writeSnapshotHeader(int stringCount) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(snapshotFile))) {
+            out.writeInt(0x4C494253);
+            out.writeInt(1);
+            while ((stringCount & ~0x7F) != 0) {
+                out.writeByte((stringCount & 0x7F) | 0x80);
+                stringCount >>>= 7;
+            }
+            out.writeByte(stringCount);
+        }
+    }
+}
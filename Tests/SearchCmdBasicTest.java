@@ -1,5 +1,10 @@
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -110,4 +115,71 @@ public class SearchCmdBasicTest extends SearchCmdTest {
         testCommand = new SearchCmd(searchTerm);
         CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
     }
+
+    @Test
+    public void testExecuteFindShortTermMatch() {
+        String[] expectedConsoleOutput = { MULTI_WORD_TITLE_A, MULTI_WORD_TITLE_B };
+        testCommand = new SearchCmd("st");
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+    }
+
+    @Test
+    public void testExecuteIndependentOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            testCommand = new SearchCmd("sky");
+            CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, MULTI_WORD_TITLE_A);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testIndexMatchesScan() {
+        LibraryData library = new LibraryData();
+        new AddCmd("books03.csv").execute(library);
+        String[] terms = { "a", "HARRY", "potter", "the", "Ing", "ZZZ", "#2", "s:", "castle" };
+
+        checkIndexMatchesScan(library, terms);
+        new RemoveCmd("AUTHOR J.K. Rowling").execute(library);
+        new RemoveCmd("TITLE The Autobiography of Mark Twain").execute(library);
+        checkIndexMatchesScan(library, terms);
+    }
+
+    private static void checkIndexMatchesScan(LibraryData library, String[] terms) {
+        for (String term : terms) {
+            String upperCaseTerm = BookEntry.normalize(term);
+            List<BookEntry> expected = new ArrayList<>();
+            for (BookEntry book : library.getBookData()) {
+                if (BookEntry.normalize(book.getTitle()).contains(upperCaseTerm)) {
+                    expected.add(book);
+                }
+            }
+            assertEquals("Index search differs from scan for term: " + term, expected,
+                    library.searchTitles(upperCaseTerm));
+            assertEquals("Parallel search differs from scan for term: " + term, expected,
+                    library.searchTitles(upperCaseTerm, 0));
+        }
+    }
+
+    @Test
+    public void testParallelSearchKeepsLibraryOrder() {
+        TitleSearchIndex index = new TitleSearchIndex();
+        String[] authors = { "Author" };
+        List<BookEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            BookEntry book = new BookEntry((i % 3 == 0 ? "Castle " : "River ") + i, authors, 4f, "ISBN" + i, 100);
+            index.add(i, book);
+            if (i % 2 == 0) {
+                index.remove(i);
+            } else if (i % 3 == 0) {
+                expected.add(book);
+            }
+        }
+
+        assertEquals("Sequential search found unexpected books.", expected, index.search("CASTLE", Integer.MAX_VALUE));
+        assertEquals("Parallel search found unexpected books.", expected, index.search("CASTLE", 0));
+        assertEquals("Parallel scan of short terms should keep the order.", index.search("7", Integer.MAX_VALUE), index.search("7", 0));
+    }
 }
@@ -0,0 +1,82 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SnapshotCmdBasicTest extends CommandTest {
+
+    private Path snapshotFile;
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.SNAPSHOT;
+    }
+
+    @Before
+    public void setup() throws IOException {
+        snapshotFile = Files.createTempFile("library", ".snapshot");
+        testCommand = new SnapshotCmd(snapshotFile.toString());
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[] { "AuthorA", "AuthorB" }, 4.17f, "ISBNB", 0));
+        bookData.add(new BookEntry("T\u00edtulo C", new String[] { "Autor \u00e9" }, 0f, "", 12345678));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, "");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "    ");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "library.snapshot");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "  some/path/library.snapshot  ");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteConsoleOutput() {
+        String expectedConsoleOutput = "3 book entries saved to " + snapshotFile + ".";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
+    @Test
+    public void testSnapshotAndRestore() {
+        testCommand.execute(testLibrary);
+
+        LibraryData restoredLibrary = new LibraryData();
+        new RestoreCmd(snapshotFile.toString()).execute(restoredLibrary);
+        assertEquals("Restored book data differs from saved book data.", testLibrary.getBookData(),
+                restoredLibrary.getBookData());
+    }
+
+    @Test
+    public void testSnapshotAndRestoreLargeLibrary() {
+        LibraryData library = new LibraryData();
+        new AddCmd("books03.csv").execute(library);
+        testCommand.execute(library);
+
+        new RestoreCmd(snapshotFile.toString()).execute(testLibrary);
+        assertEquals("Restored book data differs from saved book data.", library.getBookData(),
+                testLibrary.getBookData());
+    }
+}
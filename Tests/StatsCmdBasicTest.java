@@ -0,0 +1,140 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.junit.Assert.*;
+
+public class StatsCmdBasicTest extends CommandTest {
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.STATS;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new StatsCmd(BLANK_ARGUMENT);
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[]{"AuthorA"}, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[]{"AuthorB", "AuthorA"}, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("titleC", new String[]{"AuthorC"}, 1.3f, "ISBNC", 300));
+        bookData.add(new BookEntry("1984", new String[]{"AuthorC"}, 4f, "ISBND", 100));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, BLANK_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, true, "   ");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "BY AUTHOR");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "  BY   LETTER ");
+    }
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, "BY");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "AUTHOR");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "by author");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "BY TITLE");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "BY AUTHOR LETTER");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteLibraryStats() {
+        String[] expectedConsoleOutput = {
+                "4 books in library.",
+                "Rating: mean 3.20, min 1.30, max 4.30",
+                "Pages: total 1300, median 350.0",
+                "Top authors:",
+                "    AuthorA (2 books)",
+                "    AuthorC (2 books)",
+                "    AuthorB (1 books)"
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+    }
+
+    @Test
+    public void testExecuteStatsByAuthor() {
+        testCommand = new StatsCmd("BY AUTHOR");
+        String[] expectedConsoleOutput = {
+                "## AuthorA",
+                "    2 books, rating mean 3.75, min 3.20, max 4.30, pages total 900, median 450.0",
+                "## AuthorB",
+                "    1 books, rating mean 4.30, min 4.30, max 4.30, pages total 400, median 400.0",
+                "## AuthorC",
+                "    2 books, rating mean 2.65, min 1.30, max 4.00, pages total 400, median 200.0"
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+    }
+
+    @Test
+    public void testExecuteStatsByLetter() {
+        testCommand = new StatsCmd("BY LETTER");
+        String[] expectedConsoleOutput = {
+                "## T",
+                "    3 books, rating mean 2.93, min 1.30, max 4.30, pages total 1200, median 400.0",
+                "## [0-9]",
+                "    1 books, rating mean 4.00, min 4.00, max 4.00, pages total 100, median 100.0"
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+    }
+
+    @Test
+    public void testExecuteEmptyLibrary() {
+        testLibrary = new LibraryData();
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary,
+                "The library has no book entries. Please import a library.");
+    }
+
+    @Test
+    public void testParallelStatsMatchSequentialStats() {
+        List<BookEntry> bookData = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            bookData.add(new BookEntry("Title" + i, new String[]{"Author" + i % 13}, (i * 7 % 501) / 100f, "ISBN" + i, i % 997));
+        }
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        BookStats sequential = BookStats.of(testLibrary.getColumns(), false);
+        BookStats parallel = BookStats.of(testLibrary.getColumns(), true);
+        assertEquals("Unexpected count.", bookData.size(), sequential.getCount());
+        assertEquals("Counts should match.", sequential.getCount(), parallel.getCount());
+        assertEquals("Mean ratings should match exactly.", sequential.getMeanRating(), parallel.getMeanRating(), 0);
+        assertEquals("Smallest ratings should match.", sequential.getMinRating(), parallel.getMinRating(), 0);
+        assertEquals("Largest ratings should match.", sequential.getMaxRating(), parallel.getMaxRating(), 0);
+        assertEquals("Total pages should match.", sequential.getTotalPages(), parallel.getTotalPages());
+        assertEquals("Median pages should match.", sequential.getMedianPages(), parallel.getMedianPages(), 0);
+
+        SortedMap<String, BookStats> sequentialAuthors = BookStats.byAuthor(testLibrary, false);
+        SortedMap<String, BookStats> parallelAuthors = BookStats.byAuthor(testLibrary, true);
+        assertEquals("Authors should match.", sequentialAuthors.keySet(), parallelAuthors.keySet());
+        for (Map.Entry<String, BookStats> author : sequentialAuthors.entrySet()) {
+            BookStats other = parallelAuthors.get(author.getKey());
+            assertEquals("Mean ratings should match exactly.", author.getValue().getMeanRating(), other.getMeanRating(), 0);
+            assertEquals("Median pages should match.", author.getValue().getMedianPages(), other.getMedianPages(), 0);
+        }
+    }
+
+    @Test
+    public void testMedianOfWidelySpreadPages() {
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[]{"AuthorA"}, 1f, "ISBNA", 1_000_000));
+        bookData.add(new BookEntry("TitleB", new String[]{"AuthorA"}, 2f, "ISBNB", 1));
+        bookData.add(new BookEntry("TitleC", new String[]{"AuthorA"}, 3f, "ISBNC", 5));
+        bookData.add(new BookEntry("TitleD", new String[]{"AuthorA"}, 4f, "ISBND", 8));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        assertEquals("Unexpected median.", 6.5, BookStats.of(testLibrary.getColumns(), false).getMedianPages(), 0);
+        assertEquals("Unexpected median.", 6.5, BookStats.of(testLibrary.getColumns(), true).getMedianPages(), 0);
+        assertEquals("Unexpected median.", 0, BookStats.of(new LibraryData().getColumns(), false).getMedianPages(), 0);
+    }
+}
@@ -4,10 +4,13 @@ import java.util.Objects;
 /**
  *  AddCmd is a class which defines the command ADD in the program. It
  *  adds or loads new files in csv format to the library to work with.
- *  It is followed by a path to the file.
+ *  It is followed by a path to the file. The file is streamed row by row into
+ *  the library and the number of rows loaded per second is reported at the end.
  *
  *  The command options are:
- *      ADD path
+ *      ADD path            - Which streams the file row by row into the library.
+ *      ADD PARALLEL path   - Which memory maps the file and parses it in parallel chunks
+ *                              before adding the rows in file order.
  *
  *     Example files have been added in data, in src and in the main folder
  *     to test different path alternatives.
@@ -15,10 +18,12 @@ import java.util.Objects;
  *     i.e: ADD data/books01.csv
  *     i.e: ADD src/books01.csv
  *     i.e: ADD books01.csv
+ *     i.e: ADD PARALLEL books03.csv
  */
 public class AddCmd extends LibraryCommand {
 
     private String argumentInput;
+    private boolean parallel;
 
     /** Constructor of the class AddCmd. It gets an argumentInput, which must be
      * a valid path to a file of the format csv.
@@ -35,7 +40,7 @@ public class AddCmd extends LibraryCommand {
     /** _________________________ OVERRIDE FUNCTIONS _________________________*/
     /** Override function of parseArguments which checks if the argumentInput is valid.
      *  It cannot be blank and it must end in the correct format csv (which could be
-     *  changed later)
+     *  changed later). It can optionally start with the word PARALLEL.
      *
      * @param argumentInput argument input for this command
      * @return a boolean value indicating if the input argument is valid
@@ -43,11 +48,18 @@ public class AddCmd extends LibraryCommand {
     @Override
     protected boolean parseArguments(String argumentInput) {
         boolean isArgumentParsed = false;
-        if (!argumentInput.isBlank()) {
+        boolean isParallel = false;
+        String path = argumentInput.strip();
+        if (path.startsWith(Utils.PARALLEL + Utils.WHITE_SPACE)) {
+            path = path.substring(Utils.PARALLEL.length()).strip();
+            isParallel = true;
+        }
+        if (path.length() >= Utils.FORMAT.length()) {
             // Substring which just takes last characters corresponding to the format
-            String formatString = argumentInput.strip().substring(argumentInput.strip().length() - Utils.FORMAT.length());
+            String formatString = path.substring(path.length() - Utils.FORMAT.length());
             if (formatString.equals(Utils.FORMAT)) {
-                this.argumentInput = argumentInput;
+                this.argumentInput = path;
+                this.parallel = isParallel;
                 isArgumentParsed = true;
             }
         }
@@ -65,7 +77,7 @@ public class AddCmd extends LibraryCommand {
         Objects.requireNonNull(argumentInput, Utils.ERROR_NULL);
 
         try {
-            data.loadData(Paths.get(argumentInput.strip()));
+            data.loadData(Paths.get(argumentInput.strip()), parallel);
         } catch (IllegalArgumentException e) {
             System.err.println(e.getMessage());
         } catch (NullPointerException e) {
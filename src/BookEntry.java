@@ -1,4 +1,5 @@
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -13,6 +14,10 @@ public final class BookEntry {
     private final float rating;
     private final String ISBN;
     private final int pages;
+    /** Hash code of the entry, computed once as all fields are immutable. */
+    private final int hash;
+    /** Title in upper case used to compare titles ignoring case, computed once as the title is immutable. */
+    private final String titleKey;
 
 
     /** Constructor of the Class BookEntry, it gets values that form part of a book and checks if the
@@ -50,6 +55,8 @@ public final class BookEntry {
         this.ISBN = ISBN;
         this.rating = rating;
         this.pages = pages;
+        this.hash = computeHash();
+        this.titleKey = normalize(title);
     }
 
 
@@ -62,6 +69,26 @@ public final class BookEntry {
         return title;
     }
 
+    /** This is a function which returns the title of a BookEntry Object in upper case, which is
+     *  used to search and group titles ignoring upper and lower case. It does not depend on the
+     *  default locale of the JVM.
+     *
+     * @return the title of the book in upper case
+     */
+    public String getTitleKey() {
+        return titleKey;
+    }
+
+    /** This is a function which converts a title or a search term to upper case in the same way
+     *  for every default locale of the JVM, so it can be compared with the title key of a book.
+     *
+     * @param value the title or search term
+     * @return the value in upper case
+     */
+    public static String normalize(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
     /** This is a function which returns the authors of a BookEntry Object
      *
      * @return the author of the book
@@ -95,7 +122,9 @@ public final class BookEntry {
     }
 
     /** _________________________ OVERRIDE FUNCTIONS _________________________*/
-    /** This is a function which compares a BookEntry Object to another one, returning a boolean value
+    /** This is a function which compares a BookEntry Object to another one, returning a boolean value.
+     *  Entries with different hash codes are rejected straight away and the fields are compared
+     *  directly, so no arrays are copied.
      *
      * @param o get the Object BookEntry to check if it is equal
      * @return a boolean value determining
@@ -105,11 +134,12 @@ public final class BookEntry {
         if (this == o) return true;
         if (!(o instanceof BookEntry)) return false;
         BookEntry bookEntry = (BookEntry) o;
-        return Float.compare(bookEntry.getRating(), getRating()) == 0 &&
-                getPages() == bookEntry.getPages() &&
-                getTitle().equals(bookEntry.getTitle()) &&
-                Arrays.equals(getAuthors(), bookEntry.getAuthors()) &&
-                getISBN().equals(bookEntry.getISBN());
+        return hash == bookEntry.hash &&
+                Float.compare(bookEntry.rating, rating) == 0 &&
+                pages == bookEntry.pages &&
+                title.equals(bookEntry.title) &&
+                Arrays.equals(authors, bookEntry.authors) &&
+                ISBN.equals(bookEntry.ISBN);
     }
 
     /** This is a function which returns the hashCode of a BookEntry Object
@@ -118,8 +148,22 @@ public final class BookEntry {
      */
     @Override
     public int hashCode() {
-        int result = Objects.hash(getTitle(), getRating(), getISBN(), getPages());
-        result = 31 * result + Arrays.hashCode(getAuthors());
+        return hash;
+    }
+
+    /** This is a function which computes the hashCode of a BookEntry Object without boxing
+     *  the rating and the pages. The value is the same as
+     *  31 * Objects.hash(title, rating, ISBN, pages) + Arrays.hashCode(authors).
+     *
+     * @return the hashCode code of the object
+     */
+    private int computeHash() {
+        int result = 1;
+        result = 31 * result + title.hashCode();
+        result = 31 * result + Float.hashCode(rating);
+        result = 31 * result + ISBN.hashCode();
+        result = 31 * result + Integer.hashCode(pages);
+        result = 31 * result + Arrays.hashCode(authors);
         return result;
     }
 
@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Conjunction of conditions on the rating, pages and authors of books, which
+ * is evaluated over the columns of the library.
+ *
+ * Before the columns are scanned, every condition is checked against a small
+ * sample of evenly spread rows. The condition matching the fewest sampled
+ * rows scans the columns first, every further condition only checks the rows
+ * which are still left, so the most selective condition does most of the
+ * work. Large libraries are split into chunks which are scanned in parallel
+ * in the common ForkJoin pool and joined in the order of the library.
+ */
+public final class BookFilter {
+
+    /** Number of rows every condition is checked against to estimate its selectivity. */
+    private static final int SAMPLE_ROWS = 1024;
+    /** Number of rows scanned at once, and of the smallest chunk scanned as a task of its own. */
+    private static final int CHUNK_ROWS = 64 * 1024;
+    private static final int INITIAL_RESULT_ROWS = 1024;
+
+    private final List<Condition> conditions;
+
+    /** Create a new filter without conditions, which matches every book. */
+    public BookFilter() {
+        conditions = new ArrayList<>();
+    }
+
+    /**
+     * Only match books whose rating lies within the given bounds.
+     * @param low smallest matching rating
+     * @param high largest matching rating
+     */
+    public void addRatingRange(float low, float high) {
+        conditions.add(new RatingCondition(low, high));
+    }
+
+    /**
+     * Only match books whose number of pages lies within the given bounds.
+     * @param low smallest matching number of pages
+     * @param high largest matching number of pages
+     */
+    public void addPagesRange(int low, int high) {
+        conditions.add(new PagesCondition(low, high));
+    }
+
+    /**
+     * Only match books written by the given author.
+     * @param author name of the author as written in the library
+     * @throws NullPointerException if the given author is null
+     */
+    public void addAuthor(String author) {
+        conditions.add(new AuthorCondition(Objects.requireNonNull(author, "Given author must not be null.")));
+    }
+
+    /**
+     * Find the rows of all books matching every condition of the filter.
+     *
+     * @param columns columns of the library
+     * @param parallelThreshold smallest number of rows which is scanned in parallel
+     * @return numbers of the matching rows in ascending order
+     * @throws NullPointerException if the given columns are null
+     */
+    public int[] select(LibraryColumns columns, int parallelThreshold) {
+        Objects.requireNonNull(columns, "Given columns must not be null.");
+        List<Condition> ordered = orderBySelectivity(columns);
+        if (ordered == null) {
+            return new int[0];
+        }
+        if (columns.size() >= parallelThreshold && columns.size() > CHUNK_ROWS) {
+            return ForkJoinPool.commonPool().invoke(new ChunkFilter(columns, ordered, 0, columns.size()));
+        }
+        return selectRange(columns, ordered, 0, columns.size());
+    }
+
+    /**
+     * Resolve the conditions against the columns and order them by the number
+     * of sampled rows they match, fewest first.
+     * @return ordered conditions or null if a condition cannot match any book
+     */
+    private List<Condition> orderBySelectivity(LibraryColumns columns) {
+        List<Condition> ordered = new ArrayList<>(conditions);
+        int[] sampleRows = new int[Math.min(SAMPLE_ROWS, columns.size())];
+        for (int i = 0; i < sampleRows.length; i++) {
+            sampleRows[i] = (int) ((long) i * columns.size() / sampleRows.length);
+        }
+        int[] scratch = new int[sampleRows.length];
+        for (Condition condition : ordered) {
+            if (!condition.resolve(columns)) {
+                return null;
+            }
+            System.arraycopy(sampleRows, 0, scratch, 0, sampleRows.length);
+            condition.sampledMatches = condition.refine(columns, scratch, scratch.length);
+        }
+        ordered.sort(Comparator.comparingInt(condition -> condition.sampledMatches));
+        return ordered;
+    }
+
+    /**
+     * Scan a range of rows chunk by chunk with the first condition and check
+     * the rows left with the others. Matching rows are collected in an array
+     * growing with the result, so only the scratch array of a chunk depends on
+     * the size of the range.
+     */
+    private static int[] selectRange(LibraryColumns columns, List<Condition> ordered, int from, int to) {
+        int[] scratch = new int[Math.min(CHUNK_ROWS, to - from)];
+        int[] found = new int[Math.min(INITIAL_RESULT_ROWS, to - from)];
+        int size = 0;
+        for (int start = from; start < to; start += CHUNK_ROWS) {
+            int end = Math.min(start + CHUNK_ROWS, to);
+            int count;
+            if (ordered.isEmpty()) {
+                for (int row = start; row < end; row++) {
+                    scratch[row - start] = row;
+                }
+                count = end - start;
+            } else {
+                count = ordered.get(0).select(columns, start, end, scratch);
+                for (int i = 1; i < ordered.size() && count > 0; i++) {
+                    count = ordered.get(i).refine(columns, scratch, count);
+                }
+            }
+            if (size + count > found.length) {
+                found = Arrays.copyOf(found, Math.max(size + count, found.length * 2));
+            }
+            System.arraycopy(scratch, 0, found, size, count);
+            size += count;
+        }
+        return size == found.length ? found : Arrays.copyOf(found, size);
+    }
+
+    /** _________________________ CONDITIONS _________________________ */
+
+    /** Condition on a single column of the library. */
+    private abstract static class Condition {
+
+        /** Number of sampled rows matching the condition. */
+        private int sampledMatches;
+
+        /**
+         * Prepare the condition for scanning the given columns.
+         * @return false if the condition cannot match any book of the columns
+         */
+        boolean resolve(LibraryColumns columns) {
+            return true;
+        }
+
+        abstract int select(LibraryColumns columns, int from, int to, int[] rows);
+
+        abstract int refine(LibraryColumns columns, int[] rows, int count);
+    }
+
+    private static final class RatingCondition extends Condition {
+        private final float low;
+        private final float high;
+
+        private RatingCondition(float low, float high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        int select(LibraryColumns columns, int from, int to, int[] rows) {
+            return columns.selectRatings(low, high, from, to, rows);
+        }
+
+        @Override
+        int refine(LibraryColumns columns, int[] rows, int count) {
+            return columns.refineRatings(low, high, rows, count);
+        }
+    }
+
+    private static final class PagesCondition extends Condition {
+        private final int low;
+        private final int high;
+
+        private PagesCondition(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        int select(LibraryColumns columns, int from, int to, int[] rows) {
+            return columns.selectPages(low, high, from, to, rows);
+        }
+
+        @Override
+        int refine(LibraryColumns columns, int[] rows, int count) {
+            return columns.refinePages(low, high, rows, count);
+        }
+    }
+
+    private static final class AuthorCondition extends Condition {
+        private final String author;
+        private int authorId;
+
+        private AuthorCondition(String author) {
+            this.author = author;
+        }
+
+        @Override
+        boolean resolve(LibraryColumns columns) {
+            authorId = columns.getDictionary().find(author);
+            return authorId >= 0;
+        }
+
+        @Override
+        int select(LibraryColumns columns, int from, int to, int[] rows) {
+            return columns.selectAuthor(authorId, from, to, rows);
+        }
+
+        @Override
+        int refine(LibraryColumns columns, int[] rows, int count) {
+            return columns.refineAuthor(authorId, rows, count);
+        }
+    }
+
+    /**
+     * ForkJoin task filtering a range of rows. Ranges are split in halves
+     * until they are small enough, the matching rows of both halves are
+     * joined in order.
+     */
+    private static final class ChunkFilter extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final LibraryColumns columns;
+        private final List<Condition> ordered;
+        private final int from;
+        private final int to;
+
+        private ChunkFilter(LibraryColumns columns, List<Condition> ordered, int from, int to) {
+            this.columns = columns;
+            this.ordered = ordered;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= CHUNK_ROWS) {
+                return selectRange(columns, ordered, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ChunkFilter left = new ChunkFilter(columns, ordered, from, middle);
+            ChunkFilter right = new ChunkFilter(columns, ordered, middle, to);
+            left.fork();
+            int[] rightRows = right.compute();
+            int[] leftRows = left.join();
+            int[] rows = Arrays.copyOf(leftRows, leftRows.length + rightRows.length);
+            System.arraycopy(rightRows, 0, rows, leftRows.length, rightRows.length);
+            return rows;
+        }
+    }
+}
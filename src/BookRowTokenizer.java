@@ -0,0 +1,422 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Scanner which turns a single row of book data into a book entry without
+ * splitting it into intermediate arrays and strings. Field boundaries are
+ * found by walking the row once, the rating and the number of pages are
+ * parsed directly from the row and only the title, authors and ISBN strings
+ * are created.
+ *
+ * Rows which do not have the expected simple shape (missing fields, signs,
+ * exponents, ...) are handed to parseWithSplit, so every row results in the
+ * same book entry or the same exception as parsing it with String.split.
+ *
+ * Titles and authors are looked up in a string dictionary, so repeated values
+ * share one String instance.
+ *
+ * A tokenizer keeps scratch state between rows and must not be shared between
+ * threads. The dictionary may be shared.
+ */
+public final class BookRowTokenizer {
+
+    /** Number of fields in a row: title, authors, rating, isbn and pages. */
+    private static final int FIELD_COUNT = 5;
+    private static final int TITLE_FIELD = 0;
+    private static final int AUTHORS_FIELD = 1;
+    private static final int RATING_FIELD = 2;
+    private static final int ISBN_FIELD = 3;
+    private static final int PAGES_FIELD = 4;
+
+    private static final char FIELD_DELIMITER = ',';
+    private static final char AUTHOR_DELIMITER = '-';
+
+    /** Mantissas below this value are exactly representable as float. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 24;
+    /** Powers of ten which are exactly representable as float. */
+    private static final float[] POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+    /** Numbers with more digits than this are left to the JDK parsers. */
+    private static final int MAX_FAST_DIGITS = 9;
+
+    private final StringDictionary dictionary;
+    private final int[] fieldStart;
+    private final int[] fieldEnd;
+    private int[] authorStart;
+    private int[] authorEnd;
+    private byte[] scratch;
+
+    /** Create a new tokenizer with its own string dictionary. */
+    public BookRowTokenizer() {
+        this(new StringDictionary());
+    }
+
+    /**
+     * Create a new tokenizer which shares titles and authors through the given dictionary.
+     *
+     * @param dictionary dictionary used for titles and authors
+     * @throws NullPointerException if the given dictionary is null
+     */
+    public BookRowTokenizer(StringDictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary, "Given dictionary must not be null.");
+        fieldStart = new int[FIELD_COUNT];
+        fieldEnd = new int[FIELD_COUNT];
+        authorStart = new int[4];
+        authorEnd = new int[4];
+        scratch = new byte[256];
+    }
+
+    /**
+     * Parse a row of book data given as string.
+     *
+     * @param line row in the format title,authors,rating,isbn,pages
+     * @return book entry described by the given row
+     */
+    public BookEntry parse(String line) {
+        if (!findFields(line)) {
+            return parseUnusualRow(line);
+        }
+
+        String title = dictionary.intern(line.substring(fieldStart[TITLE_FIELD], fieldEnd[TITLE_FIELD]));
+        int authorCount = findAuthors(line);
+        String[] authors = new String[authorCount];
+        for (int i = 0; i < authorCount; i++) {
+            authors[i] = dictionary.intern(line.substring(authorStart[i], authorEnd[i]));
+        }
+
+        float rating = parseRating(line);
+        if (Float.isNaN(rating)) {
+            rating = Float.parseFloat(line.substring(fieldStart[RATING_FIELD], fieldEnd[RATING_FIELD]));
+        }
+        String iSBN = line.substring(fieldStart[ISBN_FIELD], fieldEnd[ISBN_FIELD]);
+        int pages = parsePages(line);
+        if (pages < 0) {
+            pages = Integer.parseInt(line.substring(fieldStart[PAGES_FIELD], fieldEnd[PAGES_FIELD]));
+        }
+
+        return new BookEntry(title, authors, rating, iSBN, pages);
+    }
+
+    /**
+     * Parse a row of UTF-8 encoded book data. The row is given as the bytes from
+     * start (inclusive) to end (exclusive) of the buffer and must not contain the
+     * line break. The position of buffers without a backing array may be changed.
+     *
+     * @param buffer buffer holding the row
+     * @param start index of the first byte of the row
+     * @param end index after the last byte of the row
+     * @return book entry described by the given row
+     */
+    public BookEntry parse(ByteBuffer buffer, int start, int end) {
+        if (!findFields(buffer, start, end)) {
+            return parseUnusualRow(decode(buffer, start, end));
+        }
+
+        String title = dictionary.intern(decode(buffer, fieldStart[TITLE_FIELD], fieldEnd[TITLE_FIELD]));
+        int authorCount = findAuthors(buffer);
+        String[] authors = new String[authorCount];
+        for (int i = 0; i < authorCount; i++) {
+            authors[i] = dictionary.intern(decode(buffer, authorStart[i], authorEnd[i]));
+        }
+
+        float rating = parseRating(buffer);
+        if (Float.isNaN(rating)) {
+            rating = Float.parseFloat(decode(buffer, fieldStart[RATING_FIELD], fieldEnd[RATING_FIELD]));
+        }
+        String iSBN = decode(buffer, fieldStart[ISBN_FIELD], fieldEnd[ISBN_FIELD]);
+        int pages = parsePages(buffer);
+        if (pages < 0) {
+            pages = Integer.parseInt(decode(buffer, fieldStart[PAGES_FIELD], fieldEnd[PAGES_FIELD]));
+        }
+
+        return new BookEntry(title, authors, rating, iSBN, pages);
+    }
+
+    /**
+     * Parse a row of book data by splitting it with String.split. This is the
+     * reference behaviour of the tokenizer and is used for rows which do not
+     * have the expected simple shape.
+     *
+     * @param line row in the format title,authors,rating,isbn,pages
+     * @return book entry described by the given row
+     */
+    static BookEntry parseWithSplit(String line) {
+        String[] allData = line.split(",");
+        String title = allData[0];
+        String[] authors = allData[1].split("-");
+        float rating = Float.parseFloat(allData[2]);
+        String iSBN = allData[3];
+        int pages = Integer.parseInt(allData[4]);
+
+        return new BookEntry(title, authors, rating, iSBN, pages);
+    }
+
+    /**
+     * Parse a row which does not have the expected simple shape with
+     * parseWithSplit and share its title and authors through the dictionary.
+     *
+     * @param line row in the format title,authors,rating,isbn,pages
+     * @return book entry described by the given row
+     */
+    private BookEntry parseUnusualRow(String line) {
+        BookEntry parsed = parseWithSplit(line);
+        String[] authors = parsed.getAuthors();
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = dictionary.intern(authors[i]);
+        }
+        return new BookEntry(dictionary.intern(parsed.getTitle()), authors, parsed.getRating(), parsed.getISBN(),
+                parsed.getPages());
+    }
+
+    /** _________________________ FIELD BOUNDARIES _________________________ */
+
+    /**
+     * Find the boundaries of the five fields of a row.
+     *
+     * @param line row to be scanned
+     * @return true if the row has five fields and a non empty page field
+     */
+    private boolean findFields(String line) {
+        int field = 0;
+        int length = line.length();
+        fieldStart[0] = 0;
+        for (int i = 0; i < length && field < PAGES_FIELD; i++) {
+            if (line.charAt(i) == FIELD_DELIMITER) {
+                fieldEnd[field] = i;
+                fieldStart[++field] = i + 1;
+            }
+        }
+        if (field < PAGES_FIELD) {
+            return false;
+        }
+        int end = line.indexOf(FIELD_DELIMITER, fieldStart[PAGES_FIELD]);
+        fieldEnd[PAGES_FIELD] = end < 0 ? length : end;
+        return fieldEnd[PAGES_FIELD] > fieldStart[PAGES_FIELD];
+    }
+
+    /**
+     * Find the boundaries of the five fields of a row.
+     *
+     * @param buffer buffer holding the row
+     * @param start index of the first byte of the row
+     * @param end index after the last byte of the row
+     * @return true if the row has five fields and a non empty page field
+     */
+    private boolean findFields(ByteBuffer buffer, int start, int end) {
+        int field = 0;
+        fieldStart[0] = start;
+        int i = start;
+        for (; i < end && field < PAGES_FIELD; i++) {
+            if (buffer.get(i) == FIELD_DELIMITER) {
+                fieldEnd[field] = i;
+                fieldStart[++field] = i + 1;
+            }
+        }
+        if (field < PAGES_FIELD) {
+            return false;
+        }
+        while (i < end && buffer.get(i) != FIELD_DELIMITER) {
+            i++;
+        }
+        fieldEnd[PAGES_FIELD] = i;
+        return fieldEnd[PAGES_FIELD] > fieldStart[PAGES_FIELD];
+    }
+
+    /**
+     * Find the authors within the authors field the same way String.split does,
+     * so trailing empty authors are dropped unless there is no delimiter at all.
+     *
+     * @param line row to be scanned
+     * @return number of authors found
+     */
+    private int findAuthors(String line) {
+        int count = 0;
+        int start = fieldStart[AUTHORS_FIELD];
+        int end = fieldEnd[AUTHORS_FIELD];
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == AUTHOR_DELIMITER) {
+                count = addAuthor(count, start, i);
+                start = i + 1;
+            }
+        }
+        return finishAuthors(count, start, end);
+    }
+
+    /**
+     * Find the authors within the authors field the same way String.split does,
+     * so trailing empty authors are dropped unless there is no delimiter at all.
+     *
+     * @param buffer buffer holding the row
+     * @return number of authors found
+     */
+    private int findAuthors(ByteBuffer buffer) {
+        int count = 0;
+        int start = fieldStart[AUTHORS_FIELD];
+        int end = fieldEnd[AUTHORS_FIELD];
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == AUTHOR_DELIMITER) {
+                count = addAuthor(count, start, i);
+                start = i + 1;
+            }
+        }
+        return finishAuthors(count, start, end);
+    }
+
+    private int addAuthor(int count, int start, int end) {
+        if (count == authorStart.length) {
+            authorStart = Arrays.copyOf(authorStart, count * 2);
+            authorEnd = Arrays.copyOf(authorEnd, count * 2);
+        }
+        authorStart[count] = start;
+        authorEnd[count] = end;
+        return count + 1;
+    }
+
+    private int finishAuthors(int count, int start, int end) {
+        if (count == 0) {
+            return addAuthor(count, start, end);
+        }
+        count = addAuthor(count, start, end);
+        while (count > 0 && authorStart[count - 1] == authorEnd[count - 1]) {
+            count--;
+        }
+        return count;
+    }
+
+    /** _________________________ NUMBERS _________________________ */
+
+    /**
+     * Parse the rating field if it only consists of digits and at most one
+     * decimal point. The result is exactly the value Float.parseFloat returns,
+     * as mantissa and power of ten are both exact floats and divided once.
+     *
+     * @param line row to be parsed
+     * @return parsed rating or NaN if the field has to be parsed by Float.parseFloat
+     */
+    private float parseRating(String line) {
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = fieldStart[RATING_FIELD]; i < fieldEnd[RATING_FIELD]; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9' && digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return Float.NaN;
+            }
+        }
+        return toFloat(mantissa, digits, decimals);
+    }
+
+    /**
+     * Parse the rating field if it only consists of digits and at most one
+     * decimal point. The result is exactly the value Float.parseFloat returns,
+     * as mantissa and power of ten are both exact floats and divided once.
+     *
+     * @param buffer buffer holding the row
+     * @return parsed rating or NaN if the field has to be parsed by Float.parseFloat
+     */
+    private float parseRating(ByteBuffer buffer) {
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = fieldStart[RATING_FIELD]; i < fieldEnd[RATING_FIELD]; i++) {
+            byte c = buffer.get(i);
+            if (c >= '0' && c <= '9' && digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return Float.NaN;
+            }
+        }
+        return toFloat(mantissa, digits, decimals);
+    }
+
+    private static float toFloat(long mantissa, int digits, int decimals) {
+        if (digits == 0 || mantissa >= MAX_EXACT_MANTISSA) {
+            return Float.NaN;
+        }
+        return decimals <= 0 ? (float) mantissa : (float) mantissa / POWERS_OF_TEN[decimals];
+    }
+
+    /**
+     * Parse the pages field if it only consists of digits.
+     *
+     * @param line row to be parsed
+     * @return parsed number of pages or -1 if the field has to be parsed by Integer.parseInt
+     */
+    private int parsePages(String line) {
+        int start = fieldStart[PAGES_FIELD];
+        int end = fieldEnd[PAGES_FIELD];
+        if (end - start > MAX_FAST_DIGITS) {
+            return -1;
+        }
+        int pages = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pages = pages * 10 + (c - '0');
+        }
+        return pages;
+    }
+
+    /**
+     * Parse the pages field if it only consists of digits.
+     *
+     * @param buffer buffer holding the row
+     * @return parsed number of pages or -1 if the field has to be parsed by Integer.parseInt
+     */
+    private int parsePages(ByteBuffer buffer) {
+        int start = fieldStart[PAGES_FIELD];
+        int end = fieldEnd[PAGES_FIELD];
+        if (end - start > MAX_FAST_DIGITS) {
+            return -1;
+        }
+        int pages = 0;
+        for (int i = start; i < end; i++) {
+            byte c = buffer.get(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pages = pages * 10 + (c - '0');
+        }
+        return pages;
+    }
+
+    /** _________________________ STRINGS _________________________ */
+
+    /**
+     * Decode the given UTF-8 bytes of the buffer into a string.
+     *
+     * @param buffer buffer holding the bytes
+     * @param start index of the first byte
+     * @param end index after the last byte
+     * @return decoded string
+     */
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.position(start);
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
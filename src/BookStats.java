@@ -0,0 +1,319 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable statistics of a group of books: the number of books, the mean,
+ * smallest and largest rating and the total and median number of pages.
+ *
+ * Statistics of the whole library are reduced over the columns of the
+ * library in chunks of fixed size. The chunks are reduced either one after
+ * the other or in parallel, and their results are always combined in the
+ * same order, so both ways compute exactly the same statistics. Statistics
+ * of authors and title letters are computed group by group, in parallel if
+ * requested, every group on a single thread in the order of the library.
+ */
+public final class BookStats {
+
+    /** Number of rows reduced at once. */
+    private static final int CHUNK_ROWS = 64 * 1024;
+    /** Largest range of pages whose median is found by counting instead of sorting. */
+    private static final int MAX_HISTOGRAM_PAGES = 64 * 1024;
+
+    private final int count;
+    private final double ratingSum;
+    private final float minRating;
+    private final float maxRating;
+    private final long totalPages;
+    private final double medianPages;
+
+    private BookStats(int count, double ratingSum, float minRating, float maxRating, long totalPages, double medianPages) {
+        this.count = count;
+        this.ratingSum = ratingSum;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        this.totalPages = totalPages;
+        this.medianPages = medianPages;
+    }
+
+    /** _________________________ COMPUTATION _________________________ */
+
+    /**
+     * Compute the statistics of all books of the library from its columns.
+     *
+     * @param columns columns of the library
+     * @param parallel true if the columns should be reduced in parallel
+     * @return statistics of all books
+     * @throws NullPointerException if the given columns are null
+     */
+    public static BookStats of(LibraryColumns columns, boolean parallel) {
+        Objects.requireNonNull(columns, "Given columns must not be null.");
+        int size = columns.size();
+        int chunks = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        BookStats[] partials = new BookStats[chunks];
+        int[] minPages = new int[chunks];
+        int[] maxPages = new int[chunks];
+
+        IntStream chunkNumbers = IntStream.range(0, chunks);
+        (parallel ? chunkNumbers.parallel() : chunkNumbers).forEach(chunk -> {
+            int from = chunk * CHUNK_ROWS;
+            int to = Math.min(from + CHUNK_ROWS, size);
+            double ratingSum = 0;
+            float minRating = Float.POSITIVE_INFINITY;
+            float maxRating = Float.NEGATIVE_INFINITY;
+            long totalPages = 0;
+            int fewestPages = Integer.MAX_VALUE;
+            int mostPages = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                float rating = columns.rating(row);
+                int pages = columns.pages(row);
+                ratingSum += rating;
+                minRating = Math.min(minRating, rating);
+                maxRating = Math.max(maxRating, rating);
+                totalPages += pages;
+                fewestPages = Math.min(fewestPages, pages);
+                mostPages = Math.max(mostPages, pages);
+            }
+            partials[chunk] = new BookStats(to - from, ratingSum, minRating, maxRating, totalPages, 0);
+            minPages[chunk] = fewestPages;
+            maxPages[chunk] = mostPages;
+        });
+
+        BookStats combined = new BookStats(0, 0, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, 0, 0);
+        int fewestPages = Integer.MAX_VALUE;
+        int mostPages = Integer.MIN_VALUE;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            BookStats partial = partials[chunk];
+            combined = new BookStats(combined.count + partial.count, combined.ratingSum + partial.ratingSum,
+                    Math.min(combined.minRating, partial.minRating), Math.max(combined.maxRating, partial.maxRating),
+                    combined.totalPages + partial.totalPages, 0);
+            fewestPages = Math.min(fewestPages, minPages[chunk]);
+            mostPages = Math.max(mostPages, maxPages[chunk]);
+        }
+        double medianPages = size == 0 ? 0 : (long) mostPages - fewestPages < MAX_HISTOGRAM_PAGES
+                ? histogramMedian(columns, fewestPages, mostPages, parallel)
+                : sortedMedian(columns, parallel);
+        return new BookStats(combined.count, combined.ratingSum, combined.minRating, combined.maxRating,
+                combined.totalPages, medianPages);
+    }
+
+    /**
+     * Find the median number of pages by counting the books of every number
+     * of pages between the given bounds. Counts are added up exactly, so the
+     * order in which the chunks are counted does not matter.
+     */
+    private static double histogramMedian(LibraryColumns columns, int fewestPages, int mostPages, boolean parallel) {
+        int size = columns.size();
+        int chunks = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        int range = mostPages - fewestPages + 1;
+        IntStream chunkNumbers = IntStream.range(0, chunks);
+        long[] counts = (parallel ? chunkNumbers.parallel() : chunkNumbers).collect(() -> new long[range], (histogram, chunk) -> {
+            int to = Math.min((chunk + 1) * CHUNK_ROWS, size);
+            for (int row = chunk * CHUNK_ROWS; row < to; row++) {
+                histogram[columns.pages(row) - fewestPages]++;
+            }
+        }, (first, second) -> {
+            for (int i = 0; i < range; i++) {
+                first[i] += second[i];
+            }
+        });
+
+        long lowerMiddle = (size - 1) / 2;
+        long upperMiddle = size / 2;
+        int lower = -1;
+        long seen = 0;
+        for (int i = 0; i < range; i++) {
+            seen += counts[i];
+            if (lower < 0 && seen > lowerMiddle) {
+                lower = i;
+            }
+            if (seen > upperMiddle) {
+                return fewestPages + (lower + (double) i) / 2;
+            }
+        }
+        return 0;
+    }
+
+    /** Find the median number of pages by sorting a copy of the pages. */
+    private static double sortedMedian(LibraryColumns columns, boolean parallel) {
+        int[] pages = new int[columns.size()];
+        for (int row = 0; row < pages.length; row++) {
+            pages[row] = columns.pages(row);
+        }
+        if (parallel) {
+            Arrays.parallelSort(pages);
+        } else {
+            Arrays.sort(pages);
+        }
+        return median(pages);
+    }
+
+    /**
+     * Compute the statistics of the given books.
+     *
+     * @param books books of the group, in the order of the library
+     * @return statistics of the given books
+     * @throws NullPointerException if the given books are null
+     */
+    public static BookStats of(Collection<BookEntry> books) {
+        Objects.requireNonNull(books, "Given books must not be null.");
+        double ratingSum = 0;
+        float minRating = Float.POSITIVE_INFINITY;
+        float maxRating = Float.NEGATIVE_INFINITY;
+        long totalPages = 0;
+        int[] pages = new int[books.size()];
+        int i = 0;
+        for (BookEntry book : books) {
+            ratingSum += book.getRating();
+            minRating = Math.min(minRating, book.getRating());
+            maxRating = Math.max(maxRating, book.getRating());
+            totalPages += book.getPages();
+            pages[i++] = book.getPages();
+        }
+        Arrays.sort(pages);
+        return new BookStats(pages.length, ratingSum, minRating, maxRating, totalPages, median(pages));
+    }
+
+    /**
+     * Compute the statistics of the books of every author, sorted by author.
+     *
+     * @param data library the books belong to
+     * @param parallel true if the authors should be computed in parallel
+     * @return statistics of every author
+     * @throws NullPointerException if the given library is null
+     */
+    public static SortedMap<String, BookStats> byAuthor(LibraryData data, boolean parallel) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        List<Map.Entry<String, Set<BookEntry>>> authors = new ArrayList<>(data.getBooksByAuthor().entrySet());
+        BookStats[] stats = new BookStats[authors.size()];
+        IntStream authorNumbers = IntStream.range(0, stats.length);
+        (parallel ? authorNumbers.parallel() : authorNumbers).forEach(i -> stats[i] = of(authors.get(i).getValue()));
+
+        SortedMap<String, BookStats> byAuthor = new TreeMap<>();
+        for (int i = 0; i < stats.length; i++) {
+            byAuthor.put(authors.get(i).getKey(), stats[i]);
+        }
+        return byAuthor;
+    }
+
+    /**
+     * Compute the statistics of the books of every title letter, in the order
+     * GROUP TITLE prints them. Letters without books are left out.
+     *
+     * @param data library the books belong to
+     * @param parallel true if the letters should be computed in parallel
+     * @return statistics of every letter by the label of its group
+     * @throws NullPointerException if the given library is null
+     */
+    public static Map<String, BookStats> byLetter(LibraryData data, boolean parallel) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        List<List<BookEntry>> buckets = new ArrayList<>(TitleBuckets.BUCKET_COUNT);
+        for (int i = 0; i < TitleBuckets.BUCKET_COUNT; i++) {
+            buckets.add(data.getTitleBucket(i));
+        }
+        BookStats[] stats = new BookStats[buckets.size()];
+        IntStream bucketNumbers = IntStream.range(0, stats.length);
+        (parallel ? bucketNumbers.parallel() : bucketNumbers).forEach(i -> stats[i] = of(buckets.get(i)));
+
+        Map<String, BookStats> byLetter = new LinkedHashMap<>();
+        for (int i = 0; i < stats.length; i++) {
+            if (stats[i].getCount() > 0) {
+                byLetter.put(TitleBuckets.labelOf(i), stats[i]);
+            }
+        }
+        return byLetter;
+    }
+
+    /**
+     * Find the authors who wrote the most books, ties ordered by author.
+     *
+     * @param data library the books belong to
+     * @param limit maximal number of authors
+     * @return authors with the most books, the author with the most books first
+     * @throws NullPointerException if the given library is null
+     */
+    public static List<Map.Entry<String, Integer>> topAuthors(LibraryData data, int limit) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        Comparator<Map.Entry<String, Integer>> order = Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(order.reversed());
+        for (Map.Entry<String, Set<BookEntry>> author : data.getBooksByAuthor().entrySet()) {
+            top.add(Map.entry(author.getKey(), author.getValue().size()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    /** Median of sorted values, the mean of both middle values for an even number of values. */
+    private static double median(int[] sorted) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + (double) sorted[middle]) / 2;
+    }
+
+    /** _________________________ GET FUNCTIONS _________________________ */
+
+    /**
+     * Get the number of books.
+     * @return number of books
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the mean rating of the books.
+     * @return mean rating, 0 if there are no books
+     */
+    public double getMeanRating() {
+        return count == 0 ? 0 : ratingSum / count;
+    }
+
+    /**
+     * Get the smallest rating of the books.
+     * @return smallest rating, 0 if there are no books
+     */
+    public float getMinRating() {
+        return count == 0 ? 0 : minRating;
+    }
+
+    /**
+     * Get the largest rating of the books.
+     * @return largest rating, 0 if there are no books
+     */
+    public float getMaxRating() {
+        return count == 0 ? 0 : maxRating;
+    }
+
+    /**
+     * Get the total number of pages of the books.
+     * @return total number of pages
+     */
+    public long getTotalPages() {
+        return totalPages;
+    }
+
+    /**
+     * Get the median number of pages of the books.
+     * @return median number of pages, 0 if there are no books
+     */
+    public double getMedianPages() {
+        return medianPages;
+    }
+}
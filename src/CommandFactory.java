@@ -34,6 +34,12 @@ public final class CommandFactory { // the final keyword prevents subclassing of
                 case SEARCH: return new SearchCmd(argumentInput);
                 case REMOVE: return new RemoveCmd(argumentInput);
                 case GROUP: return new GroupCmd(argumentInput);
+                case SNAPSHOT: return new SnapshotCmd(argumentInput);
+                case RESTORE: return new RestoreCmd(argumentInput);
+                case MEMORY: return new MemoryCmd(argumentInput);
+                case FILTER: return new FilterCmd(argumentInput);
+                case STATS: return new StatsCmd(argumentInput);
+                case METRICS: return new MetricsCmd(argumentInput);
             }
         } catch (IllegalArgumentException e) {
             System.err.println("ERROR: " + e.getMessage());
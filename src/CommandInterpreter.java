@@ -41,7 +41,8 @@ public class CommandInterpreter {
     }
 
     /**
-     * Execute the given command.
+     * Execute the given command and record its latency in the shared
+     * command metrics, also if it fails.
      * 
      * @param command Command to be executed.
      * @param data book data to be considered for command execution.
@@ -51,7 +52,12 @@ public class CommandInterpreter {
         Objects.requireNonNull(command, "Given command must not be null.");
         Objects.requireNonNull(data, "Given data must not be null.");
 
-        command.execute(data);
+        long start = System.nanoTime();
+        try {
+            command.execute(data);
+        } finally {
+            CommandMetrics.shared().record(command.getType(), System.nanoTime() - start);
+        }
     }
 
     /**
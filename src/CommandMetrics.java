@@ -0,0 +1,60 @@
+import java.util.Objects;
+
+/**
+ * Latencies of the commands run in this program, one histogram per command
+ * type. The command interpreter records every command it executes in the
+ * shared metrics, which METRICS prints.
+ */
+public final class CommandMetrics {
+
+    private static final CommandMetrics SHARED = new CommandMetrics();
+
+    private final LatencyHistogram[] histograms;
+
+    /** Create metrics without any recorded latencies. */
+    public CommandMetrics() {
+        histograms = new LatencyHistogram[CommandType.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Get the metrics shared by the whole program.
+     * @return shared metrics
+     */
+    public static CommandMetrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Record the latency of a command.
+     *
+     * @param type type of the command
+     * @param nanos latency of the command in nanoseconds
+     * @throws NullPointerException if the given type is null
+     */
+    public void record(CommandType type, long nanos) {
+        Objects.requireNonNull(type, "Given command type must not be null.");
+        histograms[type.ordinal()].record(nanos);
+    }
+
+    /**
+     * Get the latencies of a command type.
+     *
+     * @param type type of the commands
+     * @return histogram of the latencies of the commands of the given type
+     * @throws NullPointerException if the given type is null
+     */
+    public LatencyHistogram get(CommandType type) {
+        Objects.requireNonNull(type, "Given command type must not be null.");
+        return histograms[type.ordinal()];
+    }
+
+    /** Forget the latencies of all command types. */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
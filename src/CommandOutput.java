@@ -0,0 +1,129 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * Buffered output of a single command execution.
+ *
+ * Commands print their results line by line. Printing every line directly to
+ * System.out, which is synchronized and flushes after every line, makes large
+ * results bound by system calls. A command output collects the lines in a
+ * large buffer instead, encodes them to bytes in large chunks and writes them
+ * to the underlying stream when the buffer is full and once more when the
+ * command has finished and calls flush. The buffer grows with the output up
+ * to its full size, so short results stay cheap.
+ *
+ * Text written to a PrintStream, such as System.out, is encoded by the
+ * PrintStream itself, so it keeps the encoding the stream was set up with.
+ * Other streams get the bytes of the charset given when the output is created.
+ *
+ * Like PrintStream, a command output never throws IOExceptions, errors can be
+ * checked with checkError.
+ */
+public final class CommandOutput {
+
+    /** Number of characters collected before they are encoded and written. */
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final int INITIAL_BUFFER_CHARS = 256;
+
+    private final OutputStream out;
+    /** Stream encoding the text itself or null if the text is encoded with charset. */
+    private final PrintStream printStream;
+    private final Charset charset;
+    private final StringBuilder buffer;
+    private boolean error;
+
+    /**
+     * Create a new output writing to the given stream. A PrintStream encodes
+     * the text with its own charset, any other stream gets the bytes of the
+     * default charset. The stream is flushed but never closed by this output.
+     *
+     * @param out stream the output is written to
+     * @throws NullPointerException if the given stream is null
+     */
+    public CommandOutput(OutputStream out) {
+        this(out, Charset.defaultCharset());
+    }
+
+    /**
+     * Create a new output writing to the given stream. A PrintStream encodes
+     * the text with its own charset, any other stream gets the bytes of the
+     * given charset. The stream is flushed but never closed by this output.
+     *
+     * @param out stream the output is written to
+     * @param charset charset the text is encoded with unless the stream is a PrintStream
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public CommandOutput(OutputStream out, Charset charset) {
+        this.out = Objects.requireNonNull(out, "Given stream must not be null.");
+        this.charset = Objects.requireNonNull(charset, "Given charset must not be null.");
+        this.printStream = out instanceof PrintStream ? (PrintStream) out : null;
+        this.buffer = new StringBuilder(INITIAL_BUFFER_CHARS);
+        this.error = false;
+    }
+
+    /**
+     * Print a string without terminating the line.
+     * @param value string to be printed
+     */
+    public void print(String value) {
+        buffer.append(value);
+        if (buffer.length() >= BUFFER_CHARS) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Print a string and terminate the line.
+     * @param value string to be printed
+     */
+    public void println(String value) {
+        print(value);
+        println();
+    }
+
+    /** Terminate the current line. */
+    public void println() {
+        print(System.lineSeparator());
+    }
+
+    /** Write everything printed so far to the underlying stream and flush it. */
+    public void flush() {
+        writeBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Flush the output and check if writing to the underlying stream has failed.
+     * @return true if writing has failed at least once
+     */
+    public boolean checkError() {
+        flush();
+        if (printStream != null && printStream.checkError()) {
+            error = true;
+        }
+        return error;
+    }
+
+    /** Encode the collected characters and write them to the underlying stream. */
+    private void writeBuffer() {
+        if (buffer.length() > 0) {
+            if (printStream != null) {
+                printStream.append(buffer);
+            } else {
+                try {
+                    out.write(buffer.toString().getBytes(charset));
+                } catch (IOException e) {
+                    error = true;
+                }
+            }
+            buffer.setLength(0);
+        }
+    }
+}
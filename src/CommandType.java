@@ -6,5 +6,11 @@ public enum CommandType {
     SEARCH,
     LIST,
     REMOVE,
-    GROUP
+    GROUP,
+    SNAPSHOT,
+    RESTORE,
+    MEMORY,
+    FILTER,
+    STATS,
+    METRICS
 }
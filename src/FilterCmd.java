@@ -0,0 +1,167 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ *  FilterCmd is a class which defines the command FILTER in the program and returns
+ *  the titles of the books matching all the given conditions, in the order of the library.
+ *
+ *  The command options are:
+ *      FILTER rating<op>N      -Books whose rating compares to N as given by the operator.
+ *      FILTER pages<op>N       -Books whose number of pages compares to N as given by the operator.
+ *      FILTER author=value     -Books written by the given author. The name of the author
+ *                               may contain spaces and ends where the next condition starts.
+ *
+ *  The operators are <, <=, =, >= and >, written without spaces around them. Conditions can
+ *  be combined in any order and number and are evaluated over the columns of the library,
+ *  the most selective condition first.
+ *
+ *     i.e: FILTER rating>=4.2 pages<300
+ *          FILTER author=J.K. Rowling rating>4
+ */
+public class FilterCmd extends LibraryCommand {
+
+    private static final Pattern CONDITION = Pattern.compile(Utils.FILTER_CONDITION_PATTERN);
+
+    private String argumentInput;
+    private BookFilter filter;
+
+    /** Constructor of the class FilterCmd. It gets an argumentInput, which must contain at least
+     *  one condition.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public FilterCmd(String argumentInput) {
+        super(CommandType.FILTER, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It must consist of conditions on the rating or pages with a number, or an author
+     *  condition with a name which is not blank.
+     *
+     * @param argumentInput argument input for this command.
+     * @return a boolean value which indicates if the input argument is valid.
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        BookFilter parsedFilter = new BookFilter();
+        String[] words = argumentInput.strip().split("\\s+");
+        boolean isParsedArgument = !argumentInput.isBlank();
+
+        for (int i = 0; isParsedArgument && i < words.length; i++) {
+            if (words[i].startsWith(Utils.FILTER_AUTHOR)) {
+                StringBuilder author = new StringBuilder(words[i].substring(Utils.FILTER_AUTHOR.length()));
+                while (i + 1 < words.length && !isCondition(words[i + 1])) {
+                    author.append(Utils.WHITE_SPACE).append(words[++i]);
+                }
+                isParsedArgument = !author.toString().isBlank();
+                parsedFilter.addAuthor(author.toString().strip());
+            } else {
+                isParsedArgument = parseRange(words[i], parsedFilter);
+            }
+        }
+        if (isParsedArgument) {
+            this.argumentInput = argumentInput.strip();
+            this.filter = parsedFilter;
+        }
+        return isParsedArgument;
+    }
+
+    /** Override function of execute which defines what this command does.
+     *  Data cannot be null.
+     *
+     *  In case the library is empty it returns "The library has no book entries" and
+     *      "Please import a library"
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+
+        /** _________________________ ERROR CHECKING _________________________ */
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        CommandOutput out = openOutput();
+        Utils.emptyDataWarning(data, out);
+        /** _______________________ EXECUTE DEFINITION _______________________ */
+        int[] rows = filter.select(data.getColumns(), Utils.FILTER_PARALLEL_THRESHOLD);
+        List<BookEntry> list_of_books = data.getBookData();
+
+        if (rows.length == 0) {
+            out.println(Utils.FILTER_NOT_FOUND + argumentInput);
+        } else {
+            out.println(String.format(Utils.FILTER_FOUND_FORMAT, rows.length));
+            for (int row : rows) {
+                out.println(list_of_books.get(row).getTitle());
+            }
+        }
+        out.flush();
+    }
+
+    /** _________________________ HELPER FUNCTIONS _________________________*/
+    /** Helper function which checks if a word starts a new condition.
+     *
+     * @param word word of the argument input
+     * @return a boolean value which indicates if the word is a condition.
+     */
+    private static boolean isCondition(String word) {
+        return word.startsWith(Utils.FILTER_AUTHOR) || CONDITION.matcher(word).matches();
+    }
+
+    /** Helper function which parses a condition on the rating or pages and adds it to the filter
+     *  as the range of matching values.
+     *
+     * @param word condition such as rating>=4.2 or pages<300
+     * @param parsedFilter filter the condition is added to
+     * @return a boolean value which indicates if the condition is valid.
+     */
+    private static boolean parseRange(String word, BookFilter parsedFilter) {
+        Matcher matcher = CONDITION.matcher(word);
+        if (!matcher.matches()) {
+            return false;
+        }
+        String operator = matcher.group(2);
+        try {
+            if (matcher.group(1).equals(Utils.RATING)) {
+                float value = Float.parseFloat(matcher.group(3));
+                if (Float.isNaN(value)) {
+                    return false;
+                }
+                float low = operator.startsWith(">") ? value : Float.NEGATIVE_INFINITY;
+                float high = operator.startsWith("<") ? value : Float.POSITIVE_INFINITY;
+                if (operator.equals("=")) {
+                    low = value;
+                    high = value;
+                } else if (operator.equals(">")) {
+                    low = Math.nextUp(value);
+                } else if (operator.equals("<")) {
+                    high = Math.nextDown(value);
+                }
+                parsedFilter.addRatingRange(low, high);
+            } else {
+                long value = Integer.parseInt(matcher.group(3));
+                long low = operator.startsWith(">") ? value : Integer.MIN_VALUE;
+                long high = operator.startsWith("<") ? value : Integer.MAX_VALUE;
+                if (operator.equals("=")) {
+                    low = value;
+                    high = value;
+                } else if (operator.equals(">")) {
+                    low = value + 1;
+                } else if (operator.equals("<")) {
+                    high = value - 1;
+                }
+                if (low > Integer.MAX_VALUE || high < Integer.MIN_VALUE) {
+                    low = 1;
+                    high = 0;
+                }
+                parsedFilter.addPagesRange((int) low, (int) high);
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+}
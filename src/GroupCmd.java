@@ -1,4 +1,4 @@
-import java.util.*;
+import java.util.Objects;
 
 /**
  *  GroupCmd is a class which defines the command GROUP in the program and returns
@@ -9,6 +9,8 @@ import java.util.*;
  *
  *  The command options are:
  *      GROUP TITLE         - Which displays the titles grouped by the first letter of the title.
+ *                              Accented Latin letters are grouped with their base letter, titles
+ *                              starting with letters of other scripts are grouped together after Z.
  *      GROUP AUTHOR        - Which displays the titles grouped by author, if a book is
  *                              written by two or more authors, it will appear more than once.
  *                              Not all the authors start with capital but it is fixed to be
@@ -17,7 +19,6 @@ import java.util.*;
 public class GroupCmd extends LibraryCommand {
 
     private String argumentInput;
-    private List<List<String>> list_of_titles;
 
     /** Constructor of the class GroupCmd. It gets an argumentInput which must be just one word
      *  and it must be only equal to TITLE or AUTHOR
@@ -29,10 +30,6 @@ public class GroupCmd extends LibraryCommand {
     public GroupCmd(String argumentInput) {
         super(CommandType.GROUP, argumentInput);
         this.argumentInput = argumentInput.strip();
-        this.list_of_titles = new ArrayList<>();        // LIST OF LISTS
-        for (int i = 0; i < Utils.ALPHABET_LENGTH + Utils.GROUP_OF_NUMBERS; i++) {
-            list_of_titles.add(new ArrayList<>());      // DECLARE DE THE FULL LENGTH TO CLASSIFY THE FULL ALPHABET
-        }
     }
 
     /** _________________________ OVERRIDE FUNCTIONS _________________________*/
@@ -64,13 +61,14 @@ public class GroupCmd extends LibraryCommand {
         Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
 
         /** _________________________ ERROR CHECKING _________________________ */
+        CommandOutput out = openOutput();
         if (data.getBookData().isEmpty()) {
-            System.out.println(Utils.THE_LIBRARY_HAS_NO_BOOK_ENTRIES);
+            out.println(Utils.THE_LIBRARY_HAS_NO_BOOK_ENTRIES);
         } else {
-            List<BookEntry> list_of_books = data.getBookData();
-            Utils.printInitialGroupMessage(argumentInput);
-            Utils.mainGroup(list_of_books, argumentInput, list_of_titles);
+            Utils.printInitialGroupMessage(argumentInput, out);
+            Utils.mainGroup(data, argumentInput, out);
         }
+        out.flush();
     }
 
 }
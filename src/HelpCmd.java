@@ -27,7 +27,9 @@ public class HelpCmd extends LibraryCommand {
      */    
     @Override
     public void execute(LibraryData data) {       
-        System.out.println(helpOutput);
+        CommandOutput out = openOutput();
+        out.println(helpOutput);
+        out.flush();
     }
 
     private String buildHelpOutput() {
@@ -36,11 +38,17 @@ public class HelpCmd extends LibraryCommand {
 
         bld.append(padding).append(CommandType.HELP);
         bld.append(padding).append(CommandType.EXIT);
-        bld.append(padding).append(CommandType.ADD).append(" path/to/book/data.csv");
-        bld.append(padding).append(CommandType.LIST).append(" [short|long]");
+        bld.append(padding).append(CommandType.ADD).append(" [PARALLEL] path/to/book/data.csv");
+        bld.append(padding).append(CommandType.LIST).append(" [short|long] [sort rating|pages|title [asc|desc]] [limit N] [offset M|cursor T]");
         bld.append(padding).append(CommandType.SEARCH).append(" <value>");
         bld.append(padding).append(CommandType.REMOVE).append(" TITLE|AUTHOR <value>");
         bld.append(padding).append(CommandType.GROUP).append(" TITLE|AUTHOR");
+        bld.append(padding).append(CommandType.SNAPSHOT).append(" path/to/snapshot");
+        bld.append(padding).append(CommandType.RESTORE).append(" path/to/snapshot");
+        bld.append(padding).append(CommandType.MEMORY);
+        bld.append(padding).append(CommandType.FILTER).append(" [rating|pages<op>N]... [author=<value>] with <op> one of < <= = >= >");
+        bld.append(padding).append(CommandType.STATS).append(" [BY AUTHOR|BY LETTER]");
+        bld.append(padding).append(CommandType.METRICS);
 
         return bld.toString();
     }
@@ -0,0 +1,125 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ *
+ * Latencies below 32 ns are counted exactly. Larger latencies are counted
+ * in 16 buckets of equal width per power of two, so a percentile is never
+ * more than 1/16 above the latency it stands for. Recording a latency only
+ * increments atomic counters and never allocates, so it can be done around
+ * every command from any thread. Reading is not atomic with recording: a
+ * latency recorded at the same time may be missing from some figures.
+ */
+public final class LatencyHistogram {
+
+    /** Number of bits of a latency kept below its highest bit. */
+    private static final int SUB_BUCKET_BITS = 4;
+    /** Number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Number of buckets, enough for every non-negative long. */
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a latency. Negative latencies are counted as 0.
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(latency));
+        count.incrementAndGet();
+        totalNanos.addAndGet(latency);
+        long max = maxNanos.get();
+        while (latency > max && !maxNanos.compareAndSet(max, latency)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /** Forget all recorded latencies. */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Get the number of recorded latencies.
+     * @return number of recorded latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the sum of all recorded latencies.
+     * @return sum of the latencies in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Get the largest recorded latency.
+     * @return largest latency in nanoseconds, 0 if none was recorded
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Get the latency below or at which the given percentage of the recorded
+     * latencies are. It is the upper end of the bucket the latency falls in,
+     * but never more than the largest recorded latency.
+     *
+     * @param percent percentage between 0 and 100
+     * @return latency in nanoseconds, 0 if none was recorded
+     * @throws IllegalArgumentException if the percentage is not between 0 and 100
+     */
+    public long percentile(double percent) {
+        if (!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Given percentage must be between 0 and 100: " + percent);
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            recorded += snapshot[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestOf(i), getMaxNanos());
+            }
+        }
+        return 0;
+    }
+
+    /** Index of the bucket counting the given non-negative latency. */
+    static int bucketOf(long nanos) {
+        if (nanos < 2 * SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (nanos >>> shift);
+    }
+
+    /** Largest latency counted by the bucket with the given index. */
+    static long highestOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -1,3 +1,13 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Scanner;
 
 /**
@@ -7,6 +17,12 @@ import java.util.Scanner;
  */
 public class LibraryBrowser {
 
+    /** Size of the buffers through which batch scripts are read and their output is written. */
+    private static final int BATCH_BUFFER_SIZE = 1 << 16;
+    /** Widths of the columns of the command number and time in the timing report of a batch script. */
+    private static final int TIMING_NUMBER_WIDTH = 6;
+    private static final int TIMING_MILLIS_WIDTH = 12;
+
     /** Book data currently loaded. */
     private final LibraryData data;
     /** Create and handle commands created via user input. */
@@ -29,9 +45,111 @@ public class LibraryBrowser {
     /** Run the library browser and start the corresponding main loop. */
     public void run() {
         mainLoop();
+        printMetricsOnExit();
         stdInScan.close();
     }
 
+    /**
+     * Run the commands of a script one after the other without prompting,
+     * as needed to drive the library browser from a pipeline.
+     *
+     * The script is read through a large buffer and blank lines are skipped.
+     * All standard output is collected in a large buffer and written in blocks
+     * instead of after every command. Invalid lines are reported as in the
+     * interactive loop and the script goes on, until its end or EXIT. At the
+     * end the time of every command and the total time are printed, after
+     * the command latencies if they are to be printed at exit.
+     *
+     * @param script reader of the commands, one per line
+     * @return number of lines which could not be run
+     * @throws NullPointerException if the given script is null
+     */
+    public int runBatch(Reader script) {
+        Objects.requireNonNull(script, "Given script must not be null.");
+        long start = System.nanoTime();
+        PrintStream stdOut = System.out;
+        BatchOutput output = new BatchOutput(stdOut);
+        System.setOut(new PrintStream(output, false));
+
+        List<String> commandLines = new ArrayList<>();
+        long[] commandNanos = new long[64];
+        int failures = 0;
+        try {
+            BufferedReader reader = new BufferedReader(script, BATCH_BUFFER_SIZE);
+            String inputLine;
+            while ((inputLine = reader.readLine()) != null) {
+                if (inputLine.isBlank()) {
+                    continue;
+                }
+                LibraryCommand command = cmdIntrp.parseCommand(inputLine);
+                if (command == null) {
+                    System.err.println("ERROR: Given command input is invalid: " + inputLine);
+                    failures++;
+                } else if (command instanceof ExitCmd) {
+                    break;
+                } else {
+                    long commandStart = System.nanoTime();
+                    cmdIntrp.executeCommand(command, data);
+                    if (commandLines.size() == commandNanos.length) {
+                        commandNanos = Arrays.copyOf(commandNanos, commandNanos.length * 2);
+                    }
+                    commandNanos[commandLines.size()] = System.nanoTime() - commandStart;
+                    commandLines.add(inputLine);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println(Utils.ERROR_SCRIPT_READ + e.getMessage());
+            failures++;
+        } finally {
+            printMetricsOnExit();
+            printTiming(commandLines, commandNanos, start);
+            output.writeAll();
+            System.setOut(stdOut);
+        }
+        return failures;
+    }
+
+    /**
+     * Print the time of every command of a batch script followed by
+     * the number of commands, their total time and the wall time.
+     * Scripts can have many thousands of commands, so their lines are
+     * built directly instead of with String.format, which is much slower.
+     */
+    private static void printTiming(List<String> commandLines, long[] commandNanos, long start) {
+        StringBuilder report = new StringBuilder();
+        report.append(Utils.BATCH_TIMING_HEADER).append(Utils.NEXT_LINE);
+        long totalNanos = 0;
+        for (int i = 0; i < commandLines.size(); i++) {
+            totalNanos += commandNanos[i];
+            appendPadded(report, Integer.toString(i + 1), TIMING_NUMBER_WIDTH);
+            long micros = commandNanos[i] / 1000;
+            String fraction = Long.toString(1000 + micros % 1000).substring(1);
+            appendPadded(report, micros / 1000 + "." + fraction, TIMING_MILLIS_WIDTH);
+            report.append(Utils.BATCH_MILLIS).append(commandLines.get(i)).append(Utils.NEXT_LINE);
+        }
+        report.append(String.format(Utils.BATCH_TOTAL_FORMAT, commandLines.size(), totalNanos / Utils.NANOS_PER_MILLISECOND,
+                (System.nanoTime() - start) / Utils.NANOS_PER_MILLISECOND));
+        System.out.println(report);
+    }
+
+    /** Append the given text right aligned in a column of the given width and a space after it. */
+    private static void appendPadded(StringBuilder report, String text, int width) {
+        for (int i = text.length(); i < width; i++) {
+            report.append(' ');
+        }
+        report.append(text).append(Utils.WHITE_SPACE);
+    }
+
+    /**
+     * Print the latencies of all commands run so far if the system property
+     * library.metrics.onExit is true, as METRICS does.
+     */
+    private void printMetricsOnExit() {
+        if (Utils.METRICS_ON_EXIT) {
+            new MetricsCmd("").execute(data);
+        }
+    }
+
     /**
      * Main loop of the library browser programme.
      * 
@@ -76,4 +194,30 @@ public class LibraryBrowser {
             return null;
         }
     }
+
+    /**
+     * Buffer for the standard output of a batch script. Commands flush their
+     * output when they are done, which is ignored here, so that the output
+     * is only written when the buffer is full or the script has ended.
+     */
+    private static final class BatchOutput extends BufferedOutputStream {
+
+        private BatchOutput(OutputStream out) {
+            super(out, BATCH_BUFFER_SIZE);
+        }
+
+        @Override
+        public void flush() {
+            // written once the buffer is full or by writeAll
+        }
+
+        /** Write everything buffered so far and flush the underlying stream. */
+        private void writeAll() {
+            try {
+                super.flush();
+            } catch (IOException e) {
+                System.err.println(Utils.ERROR_OUTPUT_WRITE + e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,363 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Column wise copy of the numbers and strings of the loaded books, which
+ * scans and aggregations can run over without following a reference to every
+ * book entry.
+ *
+ * Row i of the columns describes the book at position i of the book list of
+ * the library. Ratings and pages are kept in primitive arrays, titles and
+ * authors as ids of the library wide string dictionary. The authors of all
+ * books are stored one after the other in a single array, the authors of a
+ * row start at the end of the authors of the row before it.
+ *
+ *      row:            0        1            2
+ *      authorStarts:   0        1            3        3
+ *      authorIds:      [a]      [b, c]       []
+ *
+ * ISBNs are not kept as columns. They are distinct for every book, so they
+ * are not scanned and a dictionary would not save any memory for them.
+ *
+ * The columns do not replace the book entries, which stay the objects handed
+ * out by LibraryData. They are an additional copy trading memory for fast
+ * scans, so every loaded book costs the size of its row on top of its entry.
+ */
+public final class LibraryColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringDictionary dictionary;
+    private float[] ratings;
+    private int[] pages;
+    private int[] titleIds;
+    /** Position of the first author of every row in authorIds, followed by the end of the last row. */
+    private int[] authorStarts;
+    private int[] authorIds;
+    private int size;
+
+    /**
+     * Create new and empty columns.
+     * @param dictionary dictionary the ids of titles and authors refer to
+     * @throws NullPointerException if the given dictionary is null
+     */
+    public LibraryColumns(StringDictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary, "Given dictionary must not be null.");
+        clear();
+    }
+
+    /**
+     * Append a row for the given book.
+     * @param book book to be added
+     * @throws NullPointerException if the given book is null
+     */
+    public void add(BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        if (size == ratings.length) {
+            int capacity = size * 2;
+            ratings = Arrays.copyOf(ratings, capacity);
+            pages = Arrays.copyOf(pages, capacity);
+            titleIds = Arrays.copyOf(titleIds, capacity);
+            authorStarts = Arrays.copyOf(authorStarts, capacity + 1);
+        }
+        String[] authors = book.getAuthors();
+        int authorEnd = authorStarts[size];
+        if (authorEnd + authors.length > authorIds.length) {
+            authorIds = Arrays.copyOf(authorIds, Math.max(authorEnd + authors.length, authorIds.length * 2));
+        }
+
+        ratings[size] = book.getRating();
+        pages[size] = book.getPages();
+        titleIds[size] = dictionary.idOf(book.getTitle());
+        for (String author : authors) {
+            authorIds[authorEnd++] = dictionary.idOf(author);
+        }
+        authorStarts[++size] = authorEnd;
+    }
+
+    /**
+     * Remove a single row, moving the rows after it up by one.
+     * @param row number of the row to be removed
+     * @throws IndexOutOfBoundsException if there is no row with the given number
+     */
+    public void removeRow(int row) {
+        Objects.checkIndex(row, size);
+        int start = authorStarts[row];
+        int count = authorStarts[row + 1] - start;
+        System.arraycopy(authorIds, start + count, authorIds, start, authorStarts[size] - start - count);
+        System.arraycopy(ratings, row + 1, ratings, row, size - row - 1);
+        System.arraycopy(pages, row + 1, pages, row, size - row - 1);
+        System.arraycopy(titleIds, row + 1, titleIds, row, size - row - 1);
+        for (int i = row; i < size; i++) {
+            authorStarts[i] = authorStarts[i + 1] - count;
+        }
+        size--;
+    }
+
+    /**
+     * Remove rows, moving the remaining rows up in a single pass so they
+     * keep their order.
+     * @param rows numbers of the rows to be removed
+     * @throws NullPointerException if the given rows are null
+     */
+    public void removeRows(BitSet rows) {
+        Objects.requireNonNull(rows, "Given rows must not be null.");
+        int kept = 0;
+        int authorEnd = 0;
+        for (int row = 0; row < size; row++) {
+            if (rows.get(row)) {
+                continue;
+            }
+            int start = authorStarts[row];
+            int count = authorStarts[row + 1] - start;
+            System.arraycopy(authorIds, start, authorIds, authorEnd, count);
+            ratings[kept] = ratings[row];
+            pages[kept] = pages[row];
+            titleIds[kept] = titleIds[row];
+            authorStarts[kept] = authorEnd;
+            authorEnd += count;
+            kept++;
+        }
+        authorStarts[kept] = authorEnd;
+        size = kept;
+    }
+
+    /** Remove all rows. */
+    public void clear() {
+        ratings = new float[INITIAL_CAPACITY];
+        pages = new int[INITIAL_CAPACITY];
+        titleIds = new int[INITIAL_CAPACITY];
+        authorStarts = new int[INITIAL_CAPACITY + 1];
+        authorIds = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /** _________________________ SCAN FUNCTIONS _________________________ */
+    /*
+     * Select functions write the numbers of the matching rows of a range to
+     * the start of the given array, which must be able to hold every row of
+     * the range, and return the number of matching rows. Refine functions keep
+     * only the matching rows of the first count numbers of the given array.
+     * The loops do not branch on the condition, a row number is always written
+     * and only counted if it matches.
+     */
+
+    /**
+     * Select the rows of a range whose rating lies within the given bounds.
+     * @param low smallest matching rating
+     * @param high largest matching rating
+     * @param from first row of the range
+     * @param to end of the range, exclusive
+     * @param rows array the matching rows are written to
+     * @return number of matching rows
+     */
+    public int selectRatings(float low, float high, int from, int to, int[] rows) {
+        Objects.checkFromToIndex(from, to, size);
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            float rating = ratings[row];
+            rows[count] = row;
+            count += rating >= low & rating <= high ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Keep the rows whose rating lies within the given bounds.
+     * @param low smallest matching rating
+     * @param high largest matching rating
+     * @param rows numbers of the rows to be checked, in place of which the matching rows are written
+     * @param count number of rows to be checked
+     * @return number of matching rows
+     */
+    public int refineRatings(float low, float high, int[] rows, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            float rating = ratings[row];
+            rows[kept] = row;
+            kept += rating >= low & rating <= high ? 1 : 0;
+        }
+        return kept;
+    }
+
+    /**
+     * Select the rows of a range whose number of pages lies within the given bounds.
+     * @param low smallest matching number of pages
+     * @param high largest matching number of pages
+     * @param from first row of the range
+     * @param to end of the range, exclusive
+     * @param rows array the matching rows are written to
+     * @return number of matching rows
+     */
+    public int selectPages(int low, int high, int from, int to, int[] rows) {
+        Objects.checkFromToIndex(from, to, size);
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            int bookPages = pages[row];
+            rows[count] = row;
+            count += bookPages >= low & bookPages <= high ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Keep the rows whose number of pages lies within the given bounds.
+     * @param low smallest matching number of pages
+     * @param high largest matching number of pages
+     * @param rows numbers of the rows to be checked, in place of which the matching rows are written
+     * @param count number of rows to be checked
+     * @return number of matching rows
+     */
+    public int refinePages(int low, int high, int[] rows, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            int bookPages = pages[row];
+            rows[kept] = row;
+            kept += bookPages >= low & bookPages <= high ? 1 : 0;
+        }
+        return kept;
+    }
+
+    /**
+     * Select the rows of a range written by the given author.
+     * @param authorId dictionary id of the author
+     * @param from first row of the range
+     * @param to end of the range, exclusive
+     * @param rows array the matching rows are written to
+     * @return number of matching rows
+     */
+    public int selectAuthor(int authorId, int from, int to, int[] rows) {
+        Objects.checkFromToIndex(from, to, size);
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            rows[count] = row;
+            count += hasAuthor(row, authorId) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Keep the rows written by the given author.
+     * @param authorId dictionary id of the author
+     * @param rows numbers of the rows to be checked, in place of which the matching rows are written
+     * @param count number of rows to be checked
+     * @return number of matching rows
+     */
+    public int refineAuthor(int authorId, int[] rows, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += hasAuthor(row, authorId) ? 1 : 0;
+        }
+        return kept;
+    }
+
+    private boolean hasAuthor(int row, int authorId) {
+        for (int i = authorStarts[row]; i < authorStarts[row + 1]; i++) {
+            if (authorIds[i] == authorId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** _________________________ GET FUNCTIONS _________________________ */
+
+    /**
+     * Get the number of rows.
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the rating of a row.
+     * @param row number of the row
+     * @return rating of the book
+     * @throws IndexOutOfBoundsException if there is no row with the given number
+     */
+    public float rating(int row) {
+        return ratings[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Get the number of pages of a row.
+     * @param row number of the row
+     * @return number of pages of the book
+     * @throws IndexOutOfBoundsException if there is no row with the given number
+     */
+    public int pages(int row) {
+        return pages[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Get the dictionary id of the title of a row.
+     * @param row number of the row
+     * @return id of the title of the book
+     * @throws IndexOutOfBoundsException if there is no row with the given number
+     */
+    public int titleId(int row) {
+        return titleIds[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Get the number of authors of a row.
+     * @param row number of the row
+     * @return number of authors of the book
+     * @throws IndexOutOfBoundsException if there is no row with the given number
+     */
+    public int authorCount(int row) {
+        Objects.checkIndex(row, size);
+        return authorStarts[row + 1] - authorStarts[row];
+    }
+
+    /**
+     * Get the dictionary id of an author of a row.
+     * @param row number of the row
+     * @param author position of the author within the authors of the book
+     * @return id of the author
+     * @throws IndexOutOfBoundsException if there is no row or author with the given number
+     */
+    public int authorId(int row, int author) {
+        return authorIds[authorStarts[row] + Objects.checkIndex(author, authorCount(row))];
+    }
+
+    /**
+     * Count how often the titles and authors of the rows refer to every
+     * dictionary string. Strings of removed books stay in the dictionary
+     * until the library rebuilds its indexes and have a count of 0.
+     * @return number of references by string id, for every id of the dictionary
+     */
+    public int[] referenceCounts() {
+        int[] counts = new int[dictionary.size()];
+        for (int row = 0; row < size; row++) {
+            counts[titleIds[row]]++;
+        }
+        for (int i = 0; i < authorStarts[size]; i++) {
+            counts[authorIds[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Get the dictionary the ids of titles and authors refer to.
+     * @return library wide string dictionary
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Estimated number of bytes used by the columns, including unused capacity.
+     * @return estimated size in bytes
+     */
+    public long memoryBytes() {
+        return (long) Float.BYTES * ratings.length
+                + (long) Integer.BYTES * (pages.length + titleIds.length + authorStarts.length + authorIds.length);
+    }
+}
@@ -1,3 +1,4 @@
+import java.io.OutputStream;
 import java.util.Objects;
 
 /**
@@ -9,6 +10,9 @@ public abstract class LibraryCommand {
 	/** This commands specific type. */
 	private CommandType type;
 
+	/** Stream the results of this command are written to, null for the standard output. */
+	private OutputStream output;
+
 	/**
 	 * Create the specified command and initialise it with 
 	 * the given command argument.
@@ -36,6 +40,27 @@ public abstract class LibraryCommand {
 		return type;
 	}
 
+	/**
+	 * Redirect the results of this command to the given stream instead of
+	 * the standard output.
+	 *
+	 * @param output stream the results are written to, null to write to the standard output again
+	 */
+	public void setOutput(OutputStream output) {
+		this.output = output;
+	}
+
+	/**
+	 * Open a buffered output for a single execution of this command. It writes
+	 * to the stream given to setOutput or otherwise to the standard output as
+	 * it is at the time of the call. Commands must flush it when they are done.
+	 *
+	 * @return buffered output for the results of this command
+	 */
+	protected CommandOutput openOutput() {
+		return new CommandOutput(output != null ? output : System.out);
+	}
+
 	/**
 	 * Execute the specific command.
 	 * 
@@ -1,7 +1,18 @@
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /** 
  * Class responsible for handling currently loaded
@@ -12,17 +23,159 @@ public class LibraryData {
     /** Currently loaded book data. */
     private final List<BookEntry> books;
 
+    /** Dictionary shared by the titles and authors of all loaded books. */
+    private final StringDictionary dictionary;
+
+    /**
+     * Hash index of all loaded books used to detect duplicates in constant time.
+     * It maps every book to its sequence number, which grows with every added
+     * book and identifies the book in the other indexes.
+     */
+    private final Map<BookEntry, Integer> bookIndex;
+    /** Substring index of the titles of all loaded books. */
+    private final TitleSearchIndex titleIndex;
+    /** Books of every title in the order of the library. Most titles belong to a single book. */
+    private final Map<String, List<BookEntry>> titleBooks;
+    /** Books grouped by the first letter of their title in the order of the library. */
+    private final TitleBuckets titleBuckets;
+    /** Books of every author in the order of the library, sorted by author. */
+    private final SortedMap<String, Set<BookEntry>> authorBooks;
+    /** Copy of the ratings, pages, titles and authors of the loaded books in columns, row by row in the order of the library. */
+    private final LibraryColumns columns;
+    /** Books in every sort order LIST can use. */
+    private final Map<SortKey, SortIndex> sortIndexes;
+    /** Sequence number of the next added book. */
+    private int nextSequence;
+    /** Version of the book data, changed whenever books are added or removed. */
+    private long version;
+    /** Book list the index was built for. */
+    private List<BookEntry> indexedBooks;
+    /** True if every duplicate entry discarded while loading is reported. */
+    private boolean reportDuplicates;
+
     /** Create a new and empty book library. */
     public LibraryData() {
         books = new ArrayList<>();
+        dictionary = new StringDictionary();
+        bookIndex = new HashMap<>();
+        titleIndex = new TitleSearchIndex();
+        titleBooks = new HashMap<>();
+        titleBuckets = new TitleBuckets();
+        authorBooks = new TreeMap<>();
+        columns = new LibraryColumns(dictionary);
+        sortIndexes = new EnumMap<>(SortKey.class);
+        sortIndexes.put(SortKey.RATING, SortIndex.byRating());
+        sortIndexes.put(SortKey.PAGES, SortIndex.byKey(BookEntry::getPages));
+        sortIndexes.put(SortKey.TITLE, SortIndex.byKey(BookEntry::getTitleKey));
+        nextSequence = 0;
+        version = 0;
+        indexedBooks = books;
+        reportDuplicates = true;
     }
 
     /** 
-     * Get all available book entries.
-     * @return available book entries
+     * Get all available book entries. Books are only added and removed
+     * through this class, which keeps its indexes up to date.
+     * @return read only view of the available book entries
      */
     public List<BookEntry> getBookData() {
-        return books;
+        return Collections.unmodifiableList(books);
+    }
+
+    /**
+     * Get the version of the book data. It changes whenever books are added
+     * or removed, so listings can detect that the library has changed.
+     * @return current version of the book data
+     */
+    public long getVersion() {
+        syncIndex();
+        return version;
+    }
+
+    /**
+     * Get the books of every author, sorted by author, with the books of
+     * each author in the order of the library. The index is maintained while
+     * books are added and removed. The sets of books must not be modified.
+     * @return read only view of the books of every author
+     */
+    public SortedMap<String, Set<BookEntry>> getBooksByAuthor() {
+        syncIndex();
+        return Collections.unmodifiableSortedMap(authorBooks);
+    }
+
+    /**
+     * Get the books whose title starts with the letter of the given bucket,
+     * in the order of the library. The buckets are maintained while books are
+     * added and removed.
+     * @param bucket number of the bucket as defined by TitleBuckets
+     * @return read only view of the books of the bucket
+     * @throws IndexOutOfBoundsException if there is no bucket with the given number
+     */
+    public List<BookEntry> getTitleBucket(int bucket) {
+        syncIndex();
+        return titleBuckets.get(bucket);
+    }
+
+    /**
+     * Get the ratings, pages, titles and authors of all loaded books in
+     * columns, row i describing the book at position i of the book list.
+     * The columns are maintained while books are added and removed and must
+     * not be modified.
+     * @return columns of the loaded books
+     */
+    public LibraryColumns getColumns() {
+        syncIndex();
+        return columns;
+    }
+
+    /**
+     * Get a page of the books in the given sort order. Books with equal keys
+     * are kept in the order of the library. Titles are compared ignoring upper
+     * and lower case. The sort orders are maintained while books are added
+     * and removed, so only the requested page is collected.
+     *
+     * @param key order of the books
+     * @param descending true for the largest keys first, false for the smallest keys first
+     * @param offset number of books to skip
+     * @param count maximal number of books of the page
+     * @return books of the page in the given order
+     * @throws IllegalArgumentException if the offset or count is negative
+     * @throws NullPointerException if the given key is null
+     */
+    public List<BookEntry> getSortedBooks(SortKey key, boolean descending, int offset, int count) {
+        Objects.requireNonNull(key, "Given sort key must not be null.");
+        syncIndex();
+        return sortIndexes.get(key).page(offset, count, descending);
+    }
+
+    /**
+     * Bring all indexes up to date with the book list. Once they are, reading
+     * the library through getBookData, getVersion, getBooksByAuthor,
+     * getTitleBucket, getColumns, getSortedBooks and searchTitles does not
+     * change anything, so reads can run at the same time as long as no books
+     * are added or removed.
+     */
+    public void updateIndexes() {
+        syncIndex();
+    }
+
+    /**
+     * Choose whether every duplicate entry discarded while loading is reported
+     * on the standard output, which it is by default. Large files may contain
+     * many duplicates, which are better discarded silently where nobody reads
+     * the console.
+     * @param reportDuplicates true to print a line for every duplicate entry, false to discard them silently
+     */
+    public void setReportDuplicates(boolean reportDuplicates) {
+        this.reportDuplicates = reportDuplicates;
+    }
+
+    /**
+     * Get the dictionary shared by the titles and authors of all loaded books.
+     * @return library wide string dictionary
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
     }
 
     /**
@@ -32,15 +185,44 @@ public class LibraryData {
      * @throws NullPointerException if the given path is null
      */
     public boolean loadData(Path libraryFile) {
+        return loadData(libraryFile, false);
+    }
+
+    /**
+     * Initiate book data loading for the given path. The file is either streamed
+     * row by row or parsed in parallel chunks before being merged. Both ways
+     * add the same entries and report the same duplicates. Loading is all or
+     * nothing: if a row is malformed or the file cannot be read to its end,
+     * the entries streamed in before are removed again.
+     *
+     * @param libraryFile specified path to book data file
+     * @param parallel true if the file should be parsed in parallel, false to stream it
+     * @return true if loading was successful, false otherwise
+     * @throws NullPointerException if the given path is null
+     * @throws IllegalArgumentException if a row of the file is malformed
+     */
+    public boolean loadData(Path libraryFile, boolean parallel) {
         Objects.requireNonNull(libraryFile, "Given file path must not be null.");
                
-        LibraryFileLoader loader = new LibraryFileLoader();
-        boolean success = loader.loadFileContent(libraryFile);
+        LibraryFileLoader loader = new LibraryFileLoader(dictionary);
+        int sizeBefore = books.size();
+        long start = System.nanoTime();
+        long rows;
+        if (parallel) {
+            List<BookEntry> loaded = loader.parseFileParallel(libraryFile);
+            rows = loaded == null ? -1 : loaded.size();
+            if (loaded != null) {
+                mergeEntries(loaded);
+            }
+        } else {
+            rows = streamEntries(loader, libraryFile);
+        }
+        boolean success = rows >= 0;
 
         if (success) {
-            List<BookEntry> loaded = loader.parseFileContent();
-            int added = mergeEntries(loaded);
+            int added = books.size() - sizeBefore;
             System.out.println(added + " new book entries added.");
+            Utils.printLoadThroughput(rows, System.nanoTime() - start);
         } else {
             System.err.println("ERROR: Loading book data failed for file: " + libraryFile);
         }
@@ -48,6 +230,74 @@ public class LibraryData {
         return success;
     }
 
+    /**
+     * Save all currently loaded book entries as binary snapshot.
+     *
+     * @param snapshotFile path of the snapshot file to be written
+     * @return true if the snapshot was written successfully, false otherwise
+     * @throws NullPointerException if the given path is null
+     */
+    public boolean saveSnapshot(Path snapshotFile) {
+        Objects.requireNonNull(snapshotFile, "Given file path must not be null.");
+        boolean success = false;
+
+        try {
+            LibrarySnapshot.write(books, snapshotFile);
+            System.out.println(books.size() + " book entries saved to " + snapshotFile + ".");
+            success = true;
+        } catch (IOException | SecurityException e) {
+            System.err.println("ERROR: Writing snapshot failed: " + e);
+        }
+
+        return success;
+    }
+
+    /**
+     * Replace the currently loaded book entries with the entries of a snapshot.
+     *
+     * Snapshots only contain deduplicated data, so entries are not checked for
+     * duplicates. If the snapshot cannot be read the library is left unchanged.
+     *
+     * @param snapshotFile path of the snapshot file to be read
+     * @return true if the snapshot was restored successfully, false otherwise
+     * @throws NullPointerException if the given path is null
+     */
+    public boolean restoreSnapshot(Path snapshotFile) {
+        Objects.requireNonNull(snapshotFile, "Given file path must not be null.");
+        boolean success = false;
+
+        try {
+            long start = System.nanoTime();
+            List<BookEntry> restored = LibrarySnapshot.read(snapshotFile, dictionary);
+            books.clear();
+            books.addAll(restored);
+            rebuildIndex();
+            System.out.println(restored.size() + " book entries restored.");
+            Utils.printLoadThroughput(restored.size(), System.nanoTime() - start);
+            success = true;
+        } catch (IOException | SecurityException e) {
+            System.err.println("ERROR: Restoring snapshot failed: " + e);
+        }
+
+        return success;
+    }
+
+    /**
+     * Add the given book entries to the library in the given order.
+     * Duplicate entries will be discarded.
+     *
+     * @param entries book entries to be added
+     * @return number of book entries added to the library
+     * @throws NullPointerException if the given list or one of its entries is null
+     */
+    public int addEntries(List<BookEntry> entries) {
+        Objects.requireNonNull(entries, "Given entries must not be null.");
+        for (BookEntry entry : entries) {
+            Objects.requireNonNull(entry, "Given entries must not contain null.");
+        }
+        return mergeEntries(entries);
+    }
+
     /**
      * Merge the list of book entries with the
      * entries already loaded.
@@ -59,15 +309,309 @@ public class LibraryData {
      * @return number of book entries added to the library
      */
     private int mergeEntries(List<BookEntry> loaded) {
+        LibraryEvents.Merge event = new LibraryEvents.Merge();
+        event.begin();
         int count = 0;
         for (BookEntry entry : loaded) {
-            if (!books.contains(entry)) {
-                books.add(entry);
+            if (mergeEntry(entry)) {
                 count++;
-            } else {
-                System.out.println("Duplicate entry found for book: " + entry);
             }
         }
+        commitMerge(event, loaded.size(), count);
         return count;
     }
+
+    /**
+     * Stream the book entries of a file into the library, merging every
+     * entry as soon as it is parsed. Duplicate entries will be discarded.
+     * If the file cannot be read to its end or a row is malformed, the
+     * entries merged so far are removed again, so the library is unchanged.
+     *
+     * @param loader loader reading the file
+     * @param libraryFile path to book data file
+     * @return number of rows parsed or -1 if the file could not be read
+     * @throws IllegalArgumentException if a row of the file is malformed
+     */
+    private long streamEntries(LibraryFileLoader loader, Path libraryFile) {
+        LibraryEvents.Merge event = new LibraryEvents.Merge();
+        event.begin();
+        int sizeBefore = books.size();
+        long rows = -1;
+        try {
+            rows = loader.streamFileContent(libraryFile, this::mergeEntry);
+        } finally {
+            if (rows < 0 && books.size() > sizeBefore) {
+                removeEntries(new HashSet<>(books.subList(sizeBefore, books.size())));
+            }
+            commitMerge(event, Math.max(rows, 0), books.size() - sizeBefore);
+        }
+        return rows;
+    }
+
+    /**
+     * End a merge event and commit it if it is recorded. A streamed merge
+     * also covers parsing the rows, which happens at the same time.
+     */
+    private void commitMerge(LibraryEvents.Merge event, long rows, long added) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.added = added;
+            event.duplicates = rows - added;
+            event.librarySize = books.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Merge a single book entry with the entries already loaded.
+     * Duplicate entries will be discarded.
+     *
+     * @param entry book entry to be merged with data already loaded
+     * @return true if the entry was added to the library, false if it was a duplicate
+     */
+    private boolean mergeEntry(BookEntry entry) {
+        syncIndex();
+        boolean added = false;
+        if (bookIndex.putIfAbsent(entry, nextSequence) == null) {
+            index(entry, nextSequence++);
+            books.add(entry);
+            columns.add(entry);
+            version++;
+            added = true;
+        } else if (reportDuplicates) {
+            System.out.println("Duplicate entry found for book: " + entry);
+        }
+        return added;
+    }
+
+    /**
+     * Remove the first book entry with the given title, in the order of the library.
+     * The book is looked up in the title index and its row in the book list
+     * by its sequence number, so no books are scanned.
+     *
+     * @param title title of the book to be removed
+     * @return the removed book entry or null if no book has the given title
+     * @throws NullPointerException if the given title is null
+     */
+    public BookEntry removeByTitle(String title) {
+        Objects.requireNonNull(title, "Given title must not be null.");
+        syncIndex();
+
+        List<BookEntry> found = titleBooks.get(title);
+        if (found == null) {
+            return null;
+        }
+        BookEntry book = found.get(0);
+        removeEntry(book);
+        return book;
+    }
+
+    /**
+     * Remove all book entries written by the given author. The books are
+     * looked up in the author index.
+     *
+     * @param author author of the books to be removed
+     * @return number of removed book entries
+     * @throws NullPointerException if the given author is null
+     */
+    public int removeByAuthor(String author) {
+        Objects.requireNonNull(author, "Given author must not be null.");
+        syncIndex();
+
+        Set<BookEntry> found = authorBooks.get(author);
+        if (found == null) {
+            return 0;
+        }
+        return removeEntries(new HashSet<>(found));
+    }
+
+    /**
+     * Remove a single book entry from the indexes and from the book list. The
+     * books after it are shifted once in the book list and in the columns.
+     *
+     * @param book book entry to be removed, which is loaded
+     */
+    private void removeEntry(BookEntry book) {
+        int row = rowOf(bookIndex.get(book));
+        unindex(book);
+        titleBuckets.remove(book);
+        for (SortIndex sortIndex : sortIndexes.values()) {
+            sortIndex.remove(book);
+        }
+        columns.removeRow(row);
+        books.remove(row);
+        version++;
+        compactIndexIfSparse();
+    }
+
+    /**
+     * Find the row of the book with the given sequence number. Books are
+     * appended with growing sequence numbers and removals keep their order,
+     * so the book list is sorted by sequence number and can be searched in halves.
+     *
+     * @param sequence sequence number of a loaded book
+     * @return position of the book in the book list
+     */
+    private int rowOf(int sequence) {
+        int low = 0;
+        int high = books.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleSequence = bookIndex.get(books.get(middle));
+            if (middleSequence < sequence) {
+                low = middle + 1;
+            } else if (middleSequence > sequence) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        throw new IllegalStateException("No loaded book has the sequence number " + sequence);
+    }
+
+    /**
+     * Remove the given book entries from the indexes and from the book list,
+     * which is compacted in a single pass however many entries are removed.
+     *
+     * @param removed book entries to be removed, all of them loaded
+     * @return number of removed book entries
+     */
+    private int removeEntries(Set<BookEntry> removed) {
+        for (BookEntry book : removed) {
+            unindex(book);
+        }
+        titleBuckets.removeAll(removed);
+        for (SortIndex sortIndex : sortIndexes.values()) {
+            sortIndex.removeAll(removed);
+        }
+        int sizeBefore = books.size();
+        BitSet removedRows = new BitSet(sizeBefore);
+        for (int row = 0; row < sizeBefore; row++) {
+            if (removed.contains(books.get(row))) {
+                removedRows.set(row);
+            }
+        }
+        columns.removeRows(removedRows);
+        int kept = 0;
+        for (int row = 0; row < sizeBefore; row++) {
+            if (!removedRows.get(row)) {
+                books.set(kept++, books.get(row));
+            }
+        }
+        books.subList(kept, sizeBefore).clear();
+        version++;
+        compactIndexIfSparse();
+        return sizeBefore - books.size();
+    }
+
+    /**
+     * Find all books whose title contains the given term, ignoring upper and
+     * lower case. Large searches are checked in parallel from
+     * Utils.SEARCH_PARALLEL_THRESHOLD titles on.
+     *
+     * @param upperCaseTerm search term, already converted with BookEntry.normalize
+     * @return matching books in the order of the library
+     * @throws NullPointerException if the given term is null
+     */
+    public List<BookEntry> searchTitles(String upperCaseTerm) {
+        return searchTitles(upperCaseTerm, Utils.SEARCH_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Find all books whose title contains the given term, ignoring upper and
+     * lower case, checking the titles in parallel if there are at least as
+     * many as given. The result is the same either way.
+     *
+     * @param upperCaseTerm search term, already converted with BookEntry.normalize
+     * @param parallelThreshold smallest number of checked titles which are checked in parallel
+     * @return matching books in the order of the library
+     * @throws NullPointerException if the given term is null
+     */
+    public List<BookEntry> searchTitles(String upperCaseTerm, int parallelThreshold) {
+        Objects.requireNonNull(upperCaseTerm, "Given term must not be null.");
+        syncIndex();
+        return titleIndex.search(upperCaseTerm, parallelThreshold);
+    }
+
+    /** Add a book which is added to the book list to the indexes other than the hash index. */
+    private void index(BookEntry book, int sequence) {
+        titleIndex.add(sequence, book);
+        titleBooks.computeIfAbsent(book.getTitle(), title -> new ArrayList<>(1)).add(book);
+        titleBuckets.add(book);
+        for (SortIndex sortIndex : sortIndexes.values()) {
+            sortIndex.add(book);
+        }
+        for (String author : book.getAuthors()) {
+            authorBooks.computeIfAbsent(author, name -> new LinkedHashSet<>()).add(book);
+        }
+    }
+
+    /** Remove a book which is removed from the book list from all indexes. */
+    private void unindex(BookEntry book) {
+        Integer sequence = bookIndex.remove(book);
+        if (sequence == null) {
+            return;
+        }
+        titleIndex.remove(sequence);
+
+        List<BookEntry> sameTitle = titleBooks.get(book.getTitle());
+        sameTitle.remove(book);
+        if (sameTitle.isEmpty()) {
+            titleBooks.remove(book.getTitle());
+        }
+        for (String author : book.getAuthors()) {
+            Set<BookEntry> sameAuthor = authorBooks.get(author);
+            if (sameAuthor != null && sameAuthor.remove(book) && sameAuthor.isEmpty()) {
+                authorBooks.remove(author);
+            }
+        }
+    }
+
+    /**
+     * Build the indexes again once most of their sequence numbers belong to
+     * removed books, so removed books do not slow down searching for good.
+     */
+    private void compactIndexIfSparse() {
+        if (nextSequence > 2 * books.size() + 1024) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Make sure the index matches the book list. The list is only changed by
+     * this class, which updates the indexes as it goes, so they only have to
+     * be built again if the list itself has been replaced.
+     */
+    private void syncIndex() {
+        if (indexedBooks != books) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Build the indexes from scratch for the current book list. The string
+     * dictionary is refilled as well, which drops the titles and authors of
+     * removed books and gives the remaining ones consecutive ids again.
+     */
+    private void rebuildIndex() {
+        bookIndex.clear();
+        titleIndex.clear();
+        titleBooks.clear();
+        titleBuckets.clear();
+        authorBooks.clear();
+        columns.clear();
+        dictionary.clear();
+        for (SortIndex sortIndex : sortIndexes.values()) {
+            sortIndex.clear();
+        }
+        nextSequence = 0;
+        for (BookEntry book : books) {
+            bookIndex.put(book, nextSequence);
+            index(book, nextSequence++);
+            columns.add(book);
+        }
+        indexedBooks = books;
+        version++;
+    }
 }
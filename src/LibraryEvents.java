@@ -0,0 +1,124 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the library operations, so that a standard
+ * recording shows which loads, merges, searches, removals and groupings took
+ * the time. All events are in the category Library and can be turned on in a
+ * recording by their name, e.g. library.Load.
+ *
+ * Events follow the usual pattern: create, begin, run the operation, end and
+ * only fill in the fields and commit if shouldCommit is true. While an event
+ * is not recorded, begin, end and shouldCommit do nothing and the event object
+ * is removed by escape analysis, so the operations cost the same as without
+ * events.
+ */
+public final class LibraryEvents {
+
+    private LibraryEvents() {
+
+    }
+
+    /** Reading and parsing of a book data file. */
+    @Name("library.Load")
+    @Label("Library Load")
+    @Category("Library")
+    @Description("Book data file read and parsed into book entries")
+    @StackTrace(false)
+    public static final class Load extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Mode")
+        @Description("lines, stream or parallel")
+        String mode;
+
+        @Label("Rows")
+        long rows;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytes;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    /** Merging of parsed book entries into the library. */
+    @Name("library.Merge")
+    @Label("Library Merge")
+    @Category("Library")
+    @Description("Book entries merged into the library, duplicates discarded")
+    @StackTrace(false)
+    public static final class Merge extends Event {
+        @Label("Rows")
+        long rows;
+
+        @Label("Added")
+        long added;
+
+        @Label("Duplicates")
+        long duplicates;
+
+        @Label("Library Size")
+        long librarySize;
+    }
+
+    /** Search of the titles of the library. */
+    @Name("library.Search")
+    @Label("Library Search")
+    @Category("Library")
+    @Description("Titles of the library searched for a term")
+    @StackTrace(false)
+    public static final class Search extends Event {
+        @Label("Term")
+        String term;
+
+        @Label("Hits")
+        long hits;
+
+        @Label("Library Size")
+        long librarySize;
+    }
+
+    /** Removal of books by title or author. */
+    @Name("library.Remove")
+    @Label("Library Remove")
+    @Category("Library")
+    @Description("Books removed from the library by title or author")
+    @StackTrace(false)
+    public static final class Remove extends Event {
+        @Label("Mode")
+        @Description("TITLE or AUTHOR")
+        String mode;
+
+        @Label("Value")
+        String value;
+
+        @Label("Removed")
+        long removed;
+    }
+
+    /** Grouping of the books by title letter or author. */
+    @Name("library.Group")
+    @Label("Library Group")
+    @Category("Library")
+    @Description("Titles of the library printed grouped by title letter or author")
+    @StackTrace(false)
+    public static final class Group extends Event {
+        @Label("Mode")
+        @Description("TITLE or AUTHOR")
+        String mode;
+
+        @Label("Groups")
+        long groups;
+
+        @Label("Books")
+        long books;
+    }
+}
@@ -1,9 +1,17 @@
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 /** 
  * Class responsible for loading
@@ -11,6 +19,17 @@ import java.util.Objects;
  */
 public class LibraryFileLoader {
 
+    /** Smallest chunk of a file that is worth parsing on its own thread. */
+    private static final long MIN_CHUNK_BYTES = 256 * 1024;
+    /** Largest chunk that can be memory mapped at once. */
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+    /** Number of chunks created per available worker to balance uneven chunks. */
+    private static final int CHUNKS_PER_WORKER = 4;
+    /** Initial size of the buffer used when streaming a file. */
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+    /** Size of the buffer used when searching for the next line break. */
+    private static final int SCAN_BUFFER_BYTES = 8 * 1024;
+
     /**
      * Contains all lines read from a book data file using
      * the loadFileContent method.
@@ -23,8 +42,23 @@ public class LibraryFileLoader {
      */
     private List<String> fileContent;
 
+    /** Dictionary shared by the titles and authors of all parsed books. */
+    private final StringDictionary dictionary;
+
     /** Create a new loader. No file content has been loaded yet. */
     public LibraryFileLoader() { 
+        this(new StringDictionary());
+    }
+
+    /**
+     * Create a new loader which shares titles and authors of parsed books
+     * through the given dictionary. No file content has been loaded yet.
+     *
+     * @param dictionary dictionary used for titles and authors
+     * @throws NullPointerException if the given dictionary is null
+     */
+    public LibraryFileLoader(StringDictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary, "Given dictionary must not be null.");
         fileContent = null;
     }
 
@@ -42,6 +76,8 @@ public class LibraryFileLoader {
     public boolean loadFileContent(Path fileName) {
         Objects.requireNonNull(fileName, "Given filename must not be null.");
         boolean success = false;
+        LibraryEvents.Load event = new LibraryEvents.Load();
+        event.begin();
 
         try {
             fileContent = Files.readAllLines(fileName);
@@ -50,6 +86,15 @@ public class LibraryFileLoader {
             System.err.println("ERROR: Reading file content failed: " + e);
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = fileName.toString();
+            event.mode = "lines";
+            event.rows = success ? Math.max(fileContent.size() - 1, 0) : 0;
+            event.bytes = success ? fileName.toFile().length() : 0;
+            event.success = success;
+            event.commit();
+        }
         return success;
     }
 
@@ -71,17 +116,9 @@ public class LibraryFileLoader {
     public List<BookEntry> parseFileContent() {
         List<BookEntry> booKList = new ArrayList<>();
         if (fileContent != null) {
+            BookRowTokenizer tokenizer = new BookRowTokenizer(dictionary);
             for (int i = 1; i < fileContent.size(); i++) {
-
-                String[] allData = fileContent.get(i).split(",");
-                String title = allData[0];
-                String[] authors = allData[1].split("-");
-                float rating = Float.parseFloat(allData[2]);
-                String iSBN = allData[3];
-                int pages = Integer.parseInt(allData[4]);
-
-                booKList.add(new BookEntry(title, authors, rating, iSBN, pages));
-
+                booKList.add(tokenizer.parse(fileContent.get(i)));
             }
         } else {
             System.err.println("ERROR: No content loaded before parsing.");
@@ -90,5 +127,340 @@ public class LibraryFileLoader {
         return booKList;
     }
 
+    /**
+     * Stream book data from the specified file. Rows are read into a fixed
+     * size buffer and parsed one at a time and every parsed entry is handed to
+     * the given consumer straight away, so memory use does not depend on the
+     * file size.
+     *
+     * This method does not use or change content loaded with loadFileContent.
+     *
+     * @param fileName file path with book data
+     * @param consumer receives every parsed book entry in file order
+     * @return number of rows parsed or -1 if the file could not be read
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public long streamFileContent(Path fileName, Consumer<BookEntry> consumer) {
+        Objects.requireNonNull(fileName, "Given filename must not be null.");
+        Objects.requireNonNull(consumer, "Given consumer must not be null.");
+        long rows = 0;
+        long bytesRead = 0;
+        LibraryEvents.Load event = new LibraryEvents.Load();
+        event.begin();
+
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            BookRowTokenizer tokenizer = new BookRowTokenizer(dictionary);
+            ByteBuffer buffer = ByteBuffer.allocate(STREAM_BUFFER_BYTES);
+            boolean headerSkipped = false;
+            boolean endOfFile = false;
+            boolean afterCarriageReturn = false;
+            int lineStart = 0;
+            int scanned = 0;
+
+            while (!endOfFile) {
+                int read = channel.read(buffer);
+                endOfFile = read < 0;
+                bytesRead += Math.max(read, 0);
+                int limit = buffer.position();
+                for (int i = scanned; i < limit; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n' && afterCarriageReturn) {
+                        // second byte of a CRLF line break, the line already ended at the CR
+                        lineStart = i + 1;
+                    } else if (isLineBreak(b)) {
+                        if (headerSkipped) {
+                            consumer.accept(tokenizer.parse(buffer, lineStart, i));
+                            rows++;
+                        }
+                        headerSkipped = true;
+                        lineStart = i + 1;
+                    }
+                    afterCarriageReturn = b == '\r';
+                }
+                scanned = limit;
+
+                if (endOfFile) {
+                    // last line of a file which does not end with a line break
+                    if (headerSkipped && lineStart < limit) {
+                        consumer.accept(tokenizer.parse(buffer, lineStart, limit));
+                        rows++;
+                    }
+                } else if (lineStart == 0 && limit == buffer.capacity()) {
+                    // a single line fills the whole buffer
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                } else {
+                    // move the incomplete line to the front of the buffer
+                    buffer.limit(limit).position(lineStart);
+                    buffer.compact();
+                    scanned -= lineStart;
+                    lineStart = 0;
+                }
+            }
+        } catch (IOException | SecurityException e) {
+            System.err.println("ERROR: Reading file content failed: " + e);
+            rows = -1;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = fileName.toString();
+            event.mode = "stream";
+            event.rows = Math.max(rows, 0);
+            event.bytes = bytesRead;
+            event.success = rows >= 0;
+            event.commit();
+        }
+        return rows;
+    }
+
+    /**
+     * Parse the specified book data file in parallel. The file is memory mapped,
+     * split into chunks at line breaks and the chunks are parsed concurrently on
+     * the common ForkJoin pool. Parsed entries are returned in file order, so the
+     * result is the same as loading the file with loadFileContent and parseFileContent.
+     *
+     * This method does not use or change content loaded with loadFileContent.
+     *
+     * @param fileName file path with book data
+     * @return books parsed from the file in file order or null if the file could not be read
+     * @throws NullPointerException if the given file name is null
+     */
+    public List<BookEntry> parseFileParallel(Path fileName) {
+        return parseFileParallel(fileName, MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Parse the specified book data file in parallel using chunks of at least
+     * the given size.
+     *
+     * @param fileName file path with book data
+     * @param minChunkBytes smallest number of bytes parsed as one chunk
+     * @return books parsed from the file in file order or null if the file could not be read
+     * @throws NullPointerException if the given file name is null
+     */
+    List<BookEntry> parseFileParallel(Path fileName, long minChunkBytes) {
+        Objects.requireNonNull(fileName, "Given filename must not be null.");
+        List<BookEntry> bookList = null;
+        long fileBytes = 0;
+        LibraryEvents.Load event = new LibraryEvents.Load();
+        event.begin();
+
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            fileBytes = channel.size();
+            long[] bounds = splitIntoChunks(channel, minChunkBytes);
+            bookList = ForkJoinPool.commonPool().invoke(new ChunkParser(channel, bounds, 0, bounds.length - 1));
+        } catch (IOException | SecurityException e) {
+            System.err.println("ERROR: Reading file content failed: " + e);
+        } catch (UncheckedIOException e) {
+            System.err.println("ERROR: Reading file content failed: " + e.getCause());
+        }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = fileName.toString();
+            event.mode = "parallel";
+            event.rows = bookList == null ? 0 : bookList.size();
+            event.bytes = bookList == null ? 0 : fileBytes;
+            event.success = bookList != null;
+            event.commit();
+        }
+        return bookList;
+    }
+
+    /**
+     * Split the data rows of a file into chunks which all start at the beginning
+     * of a line. The header line is not part of any chunk.
+     *
+     * @param channel open channel of the file to be split
+     * @param minChunkBytes smallest number of bytes in a chunk
+     * @return chunk boundaries, chunk i covers the bytes from bounds[i] to bounds[i + 1]
+     * @throws IOException if the file could not be read
+     */
+    private static long[] splitIntoChunks(FileChannel channel, long minChunkBytes) throws IOException {
+        long size = channel.size();
+        long dataStart = nextLineStart(channel, 0, size);
+        long dataBytes = size - dataStart;
+
+        long chunks = (long) ForkJoinPool.commonPool().getParallelism() * CHUNKS_PER_WORKER;
+        chunks = Math.min(chunks, Math.max(1, dataBytes / Math.max(1, minChunkBytes)));
+        chunks = Math.max(chunks, (dataBytes + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        long chunkBytes = Math.max(1, dataBytes / chunks);
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(dataStart);
+        long previous = dataStart;
+        while (previous < size) {
+            long next = nextLineStart(channel, Math.min(previous + chunkBytes, size), size);
+            if (next - previous > MAX_CHUNK_BYTES) {
+                throw new IOException("Line longer than " + MAX_CHUNK_BYTES + " bytes at offset " + previous);
+            }
+            bounds.add(next);
+            previous = next;
+        }
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Find the start of the line following the given position. Like
+     * BufferedReader.readLine, a line break is a line feed, a carriage return
+     * or a carriage return followed by a line feed.
+     *
+     * @param channel open channel of the file to be searched
+     * @param position offset to start searching from
+     * @param size size of the file
+     * @return offset right after the next line break or the size of the file if there is none
+     * @throws IOException if the file could not be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0 && size == 0) {
+            return 0;
+        }
+        // a chunk boundary right after a line break is already a line start
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long offset = position > 0 ? position - 1 : 0;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                if (b == '\r') {
+                    long next = offset + i + 1;
+                    return next < size && byteAt(channel, buffer, offset, read, next) == '\n' ? next + 1 : next;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * ForkJoin task parsing a range of chunks of a memory mapped file. Ranges are
+     * split in halves until a single chunk is left and the results are joined in
+     * file order.
+     */
+    private final class ChunkParser extends RecursiveTask<List<BookEntry>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int fromChunk;
+        private final int toChunk;
+
+        /**
+         * Create a task for the chunks fromChunk (inclusive) to toChunk (exclusive).
+         *
+         * @param channel open channel of the file to be parsed
+         * @param bounds chunk boundaries as created by splitIntoChunks
+         * @param fromChunk first chunk to be parsed
+         * @param toChunk chunk after the last chunk to be parsed
+         */
+        ChunkParser(FileChannel channel, long[] bounds, int fromChunk, int toChunk) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected List<BookEntry> compute() {
+            if (toChunk - fromChunk <= 1) {
+                return fromChunk < toChunk ? parseChunk(bounds[fromChunk], bounds[toChunk]) : new ArrayList<>();
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            ChunkParser right = new ChunkParser(channel, bounds, middle, toChunk);
+            right.fork();
+            List<BookEntry> result = new ChunkParser(channel, bounds, fromChunk, middle).compute();
+            result.addAll(right.join());
+            return result;
+        }
+
+        /**
+         * Parse all lines between the given offsets.
+         *
+         * @param start offset of the first line of the chunk
+         * @param end offset after the last line of the chunk
+         * @return books parsed from the chunk in file order
+         */
+        private List<BookEntry> parseChunk(long start, long end) {
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<BookEntry> chunkBooks = new ArrayList<>();
+            BookRowTokenizer tokenizer = new BookRowTokenizer(dictionary);
+            int lineStart = 0;
+            int limit = buffer.limit();
+            boolean afterCarriageReturn = false;
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' && afterCarriageReturn) {
+                    // second byte of a CRLF line break, the line already ended at the CR
+                    lineStart = i + 1;
+                } else if (isLineBreak(b)) {
+                    chunkBooks.add(tokenizer.parse(buffer, lineStart, i));
+                    lineStart = i + 1;
+                }
+                afterCarriageReturn = b == '\r';
+            }
+            // last line of a file which does not end with a line break
+            if (lineStart < limit) {
+                chunkBooks.add(tokenizer.parse(buffer, lineStart, limit));
+            }
+            return chunkBooks;
+        }
+    }
+
+    /**
+     * Is the given byte a line feed or a carriage return? Both end a line, as
+     * they do for BufferedReader.readLine; a line feed right after a carriage
+     * return belongs to the same line break and is skipped by the callers.
+     *
+     * @param b byte to be checked
+     * @return true if the byte ends a line
+     */
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Get the byte at the given file offset, from the buffer if it holds it
+     * and otherwise from the channel.
+     *
+     * @param channel open channel of the file
+     * @param buffer buffer holding the bytes read from the given offset on
+     * @param bufferOffset file offset of the first byte of the buffer
+     * @param read number of bytes in the buffer
+     * @param position file offset of the byte, smaller than the size of the file
+     * @return the byte at the given offset
+     * @throws IOException if the file could not be read
+     */
+    private static byte byteAt(FileChannel channel, ByteBuffer buffer, long bufferOffset, int read, long position)
+            throws IOException {
+        if (position - bufferOffset < read) {
+            return buffer.get((int) (position - bufferOffset));
+        }
+        ByteBuffer single = ByteBuffer.allocate(1);
+        if (channel.read(single, position) < 1) {
+            throw new IOException("Unexpected end of file at offset " + position);
+        }
+        return single.get(0);
+    }
 }
@@ -0,0 +1,464 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves a library as JSON over HTTP on the loopback interface, so that other
+ * programs can query it without driving the interactive browser.
+ *
+ * The endpoints are:
+ *      GET  /search?term=T                     - books whose title contains the term, as SEARCH
+ *      GET  /list?limit=N&offset=M[&sort=K[&order=asc|desc]]
+ *                                              - a page of the books, as LIST, K one of rating, pages, title
+ *      GET  /group?by=title|author             - the titles grouped, as GROUP
+ *      POST /add?path=P[&parallel=true]        - load a book data file of the data directory, as ADD
+ *      POST /remove?title=T or ?author=A       - remove books, as REMOVE
+ *
+ * Parameters are read from the query and, for POST, also from a form encoded
+ * body. Errors are answered with status 400, 404 or 405 and a JSON object
+ * with an error message.
+ *
+ * Paths given to /add are resolved against the data directory of the server
+ * and must not lead out of it, so requests cannot read other files of the
+ * machine. Duplicate entries are discarded without printing a line for each.
+ *
+ * Every request runs on its own virtual thread where the JVM has them, and
+ * otherwise on a cached thread pool. All requests share one library guarded
+ * by a read write lock: searches, lists and groups only read the library and
+ * its indexes and run at the same time, loads and removals run alone. Loads
+ * and removals bring the indexes up to date before they release the write
+ * lock, so readers never build indexes. While it is served, the library must
+ * only be changed through the server.
+ */
+public class LibraryServer {
+
+    /** Number of connections the operating system queues before they are accepted. */
+    private static final int BACKLOG = 4096;
+    /** Number of books of a page if no limit is given. */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final LibraryData data;
+    /** Real path of the directory files loaded through /add must be in. */
+    private final Path dataDirectory;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Create a server for the given library on the given port of the loopback
+     * interface. The server does not accept requests before it is started.
+     * From now on the library discards duplicate entries silently.
+     *
+     * @param data library to be served
+     * @param dataDirectory directory the paths given to /add are resolved against
+     * @param port port to listen on, 0 for any free port
+     * @throws IOException if the data directory does not exist or the port cannot be bound
+     * @throws NullPointerException if the given library or directory is null
+     */
+    public LibraryServer(LibraryData data, Path dataDirectory, int port) throws IOException {
+        this.data = Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        this.dataDirectory = Objects.requireNonNull(dataDirectory, "Given data directory must not be null.").toRealPath();
+        if (!Files.isDirectory(this.dataDirectory)) {
+            throw new IOException("Not a directory: " + dataDirectory);
+        }
+        data.setReportDuplicates(false);
+        data.updateIndexes();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        ExecutorService virtual = virtualThreadExecutor();
+        virtualThreads = virtual != null;
+        executor = virtualThreads ? virtual : Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+
+        server.createContext("/", exchange -> handle(exchange, null, false, null));
+        server.createContext("/search", exchange -> handle(exchange, "GET", false, this::search));
+        server.createContext("/list", exchange -> handle(exchange, "GET", false, this::list));
+        server.createContext("/group", exchange -> handle(exchange, "GET", false, this::group));
+        server.createContext("/add", exchange -> handle(exchange, "POST", true, this::add));
+        server.createContext("/remove", exchange -> handle(exchange, "POST", true, this::remove));
+    }
+
+    /** Start accepting requests. */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests, wait up to the given time for running requests
+     * and stop the threads of the server.
+     *
+     * @param delaySeconds longest time to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the port the server listens on.
+     * @return port of the server
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the directory the files loaded through /add must be in.
+     * @return real path of the data directory
+     */
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
+
+    /**
+     * Does every request run on its own virtual thread?
+     * @return true for virtual threads, false for a cached thread pool
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /** _________________________ ENDPOINTS _________________________ */
+
+    /** Answer of an endpoint, computed from the parameters of the request. */
+    private interface Endpoint {
+        String respond(Map<String, String> params);
+    }
+
+    private String search(Map<String, String> params) {
+        String term = required(params, "term");
+        if (term.isBlank()) {
+            throw new IllegalArgumentException("Parameter term must not be blank.");
+        }
+        List<BookEntry> found;
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            found = data.searchTitles(BookEntry.normalize(term.strip()), Utils.SEARCH_PARALLEL_THRESHOLD);
+        } finally {
+            read.unlock();
+        }
+        StringBuilder json = new StringBuilder("{\"term\":");
+        appendString(json, term);
+        json.append(",\"count\":").append(found.size()).append(",\"books\":");
+        appendBooks(json, found);
+        return json.append('}').toString();
+    }
+
+    private String list(Map<String, String> params) {
+        int limit = number(params, "limit", DEFAULT_PAGE_SIZE);
+        int offset = number(params, "offset", 0);
+        String sort = params.get("sort");
+        String order = params.getOrDefault("order", Utils.ASCENDING);
+        if (!order.equals(Utils.ASCENDING) && !order.equals(Utils.DESCENDING)) {
+            throw new IllegalArgumentException("Parameter order must be asc or desc.");
+        }
+        SortKey key = null;
+        if (sort != null) {
+            try {
+                key = SortKey.valueOf(sort.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Parameter sort must be rating, pages or title.");
+            }
+        }
+
+        List<BookEntry> page;
+        int total;
+        long version;
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<BookEntry> books = data.getBookData();
+            total = books.size();
+            version = data.getVersion();
+            if (key != null) {
+                page = data.getSortedBooks(key, order.equals(Utils.DESCENDING), offset, limit);
+            } else {
+                int from = Math.min(offset, total);
+                page = List.copyOf(books.subList(from, (int) Math.min((long) from + limit, total)));
+            }
+        } finally {
+            read.unlock();
+        }
+        StringBuilder json = new StringBuilder("{\"total\":").append(total)
+                .append(",\"offset\":").append(offset)
+                .append(",\"count\":").append(page.size())
+                .append(",\"version\":").append(version)
+                .append(",\"books\":");
+        appendBooks(json, page);
+        return json.append('}').toString();
+    }
+
+    private String group(Map<String, String> params) {
+        String by = required(params, "by").toUpperCase(Locale.ROOT);
+        StringBuilder json = new StringBuilder("{\"by\":");
+        appendString(json, by);
+        json.append(",\"groups\":[");
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            if (by.equals(Utils.TITLE)) {
+                for (int i = 0; i < TitleBuckets.BUCKET_COUNT; i++) {
+                    List<BookEntry> bucket = data.getTitleBucket(i);
+                    if (!bucket.isEmpty()) {
+                        appendGroup(json, TitleBuckets.labelOf(i), bucket);
+                    }
+                }
+            } else if (by.equals(Utils.AUTHOR)) {
+                for (Map.Entry<String, Set<BookEntry>> author : data.getBooksByAuthor().entrySet()) {
+                    appendGroup(json, author.getKey(), author.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Parameter by must be title or author.");
+            }
+        } finally {
+            read.unlock();
+        }
+        if (json.charAt(json.length() - 1) == ',') {
+            json.setLength(json.length() - 1);
+        }
+        return json.append("]}").toString();
+    }
+
+    private String add(Map<String, String> params) {
+        String path = required(params, "path");
+        Path file = resolveDataFile(path);
+        boolean parallel = Boolean.parseBoolean(params.get("parallel"));
+        boolean loaded;
+        int added;
+        int total;
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int sizeBefore = data.getBookData().size();
+            loaded = data.loadData(file, parallel);
+            total = data.getBookData().size();
+            added = total - sizeBefore;
+        } finally {
+            data.updateIndexes();
+            write.unlock();
+        }
+        if (!loaded) {
+            throw new IllegalArgumentException("Loading book data failed for file: " + path);
+        }
+        return "{\"added\":" + added + ",\"total\":" + total + "}";
+    }
+
+    private String remove(Map<String, String> params) {
+        String title = params.get("title");
+        String author = params.get("author");
+        if ((title == null) == (author == null)) {
+            throw new IllegalArgumentException("Exactly one of the parameters title and author must be given.");
+        }
+        int removed;
+        int total;
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            removed = title != null ? (data.removeByTitle(title.strip()) != null ? 1 : 0) : data.removeByAuthor(author.strip());
+            total = data.getBookData().size();
+        } finally {
+            data.updateIndexes();
+            write.unlock();
+        }
+        return "{\"removed\":" + removed + ",\"total\":" + total + "}";
+    }
+
+    /** _________________________ HELPER FUNCTIONS _________________________ */
+
+    /**
+     * Resolve a path given to /add against the data directory. The path must
+     * name an existing file and must not lead out of the directory, also not
+     * through a symbolic link.
+     */
+    private Path resolveDataFile(String path) {
+        Path file = dataDirectory.resolve(path).normalize();
+        if (file.startsWith(dataDirectory)) {
+            try {
+                file = file.toRealPath();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Loading book data failed for file: " + path);
+            }
+        }
+        if (!file.startsWith(dataDirectory)) {
+            throw new IllegalArgumentException("Path must be inside the data directory: " + path);
+        }
+        return file;
+    }
+
+    /**
+     * Answer a request with the given endpoint if the request is for exactly
+     * the path of its context and uses the given method.
+     */
+    private void handle(HttpExchange exchange, String method, boolean readBody, Endpoint endpoint) throws IOException {
+        try {
+            if (endpoint == null || !exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                send(exchange, 404, error("Unknown endpoint: " + exchange.getRequestURI().getPath()));
+            } else if (!exchange.getRequestMethod().equals(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                send(exchange, 405, error("Endpoint only accepts " + method + "."));
+            } else {
+                Map<String, String> params = new HashMap<>();
+                parseParams(exchange.getRequestURI().getRawQuery(), params);
+                if (readBody) {
+                    try (InputStream body = exchange.getRequestBody()) {
+                        parseParams(new String(body.readAllBytes(), StandardCharsets.UTF_8), params);
+                    }
+                }
+                send(exchange, 200, endpoint.respond(params));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            System.err.println("ERROR: Request failed: " + e);
+            send(exchange, 500, error("Internal error."));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** Add the parameters of a URL encoded query or form to the given map. */
+    private static void parseParams(String encoded, Map<String, String> params) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            if (!name.isEmpty()) {
+                params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static int number(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 0) {
+                throw new IllegalArgumentException("Parameter " + name + " must not be negative.");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number.");
+        }
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void appendGroup(StringBuilder json, String name, Iterable<BookEntry> books) {
+        json.append("{\"name\":");
+        appendString(json, name);
+        json.append(",\"titles\":[");
+        boolean first = true;
+        for (BookEntry book : books) {
+            if (!first) {
+                json.append(',');
+            }
+            appendString(json, book.getTitle());
+            first = false;
+        }
+        json.append("]},");
+    }
+
+    private static void appendBooks(StringBuilder json, List<BookEntry> books) {
+        json.append('[');
+        for (int i = 0; i < books.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            BookEntry book = books.get(i);
+            json.append("{\"title\":");
+            appendString(json, book.getTitle());
+            json.append(",\"authors\":[");
+            String[] authors = book.getAuthors();
+            for (int a = 0; a < authors.length; a++) {
+                if (a > 0) {
+                    json.append(',');
+                }
+                appendString(json, authors[a]);
+            }
+            json.append("],\"rating\":").append(book.getRating());
+            json.append(",\"isbn\":");
+            appendString(json, book.getISBN());
+            json.append(",\"pages\":").append(book.getPages()).append('}');
+        }
+        json.append(']');
+    }
+
+    /** Append a JSON string, escaping quotes, backslashes and control characters. */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Create an executor running every task on a new virtual thread. Virtual
+     * threads are only available from Java 21 on, so the factory is looked up
+     * at run time.
+     *
+     * @return virtual thread executor or null if the JVM has no virtual threads
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Class responsible for writing and reading binary snapshots of book data.
+ *
+ * A snapshot starts with a magic number and a format version, followed by a
+ * string table holding every distinct title and author once and the books
+ * themselves, which refer to titles and authors by their index in the string
+ * table. Counts, lengths, indexes and pages are stored as variable length
+ * integers, ratings as raw floats.
+ *
+ *      magic, version
+ *      stringCount, (length, UTF-8 bytes) * stringCount
+ *      bookCount, (titleId, authorCount, authorId * authorCount, rating, isbnLength, isbn, pages) * bookCount
+ *
+ * Snapshots are read defensively: every count and length is checked against
+ * the bytes left in the file and a fixed maximum before anything is allocated,
+ * so a corrupt file is reported as such instead of exhausting the heap.
+ */
+public final class LibrarySnapshot {
+
+    /** Magic number identifying snapshot files ("LIBS"). */
+    private static final int MAGIC = 0x4C494253;
+    /** Current version of the snapshot format. */
+    private static final int VERSION = 1;
+    /** Size of the buffers used for reading and writing snapshots. */
+    private static final int BUFFER_BYTES = 64 * 1024;
+    /** Largest number of strings or books of a snapshot. */
+    private static final int MAX_ENTRIES = 100_000_000;
+    /** Largest number of authors of a book. */
+    private static final int MAX_AUTHORS = 65_536;
+    /** Largest length of a string in bytes. */
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+    /** Smallest number of bytes of a book: title, author count, rating, ISBN length and pages. */
+    private static final int MIN_BOOK_BYTES = 8;
+
+    /** Not to be used. */
+    private LibrarySnapshot() {
+        throw new UnsupportedOperationException("This constructor should never be used.");
+    }
+
+    /**
+     * Write the given books to a snapshot file. An existing file is replaced.
+     *
+     * @param books books to be written in the given order
+     * @param file path of the snapshot file
+     * @throws IOException if the snapshot could not be written
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public static void write(List<BookEntry> books, Path file) throws IOException {
+        Objects.requireNonNull(books, "Given books must not be null.");
+        Objects.requireNonNull(file, "Given file must not be null.");
+
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (BookEntry book : books) {
+            addString(book.getTitle(), stringIds, strings);
+            for (String author : book.getAuthors()) {
+                addString(author, stringIds, strings);
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            writeVarInt(out, strings.size());
+            for (String string : strings) {
+                writeString(out, string);
+            }
+
+            writeVarInt(out, books.size());
+            for (BookEntry book : books) {
+                writeVarInt(out, stringIds.get(book.getTitle()));
+                String[] authors = book.getAuthors();
+                writeVarInt(out, authors.length);
+                for (String author : authors) {
+                    writeVarInt(out, stringIds.get(author));
+                }
+                out.writeFloat(book.getRating());
+                writeString(out, book.getISBN());
+                writeVarInt(out, book.getPages());
+            }
+        }
+    }
+
+    /**
+     * Read all books from a snapshot file. Titles and authors are shared
+     * through the given dictionary.
+     *
+     * @param file path of the snapshot file
+     * @param dictionary dictionary used for titles and authors
+     * @return books of the snapshot in the order they were written
+     * @throws IOException if the file could not be read or is not a valid snapshot
+     * @throws StreamCorruptedException if a count or length of the snapshot is out of range
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public static List<BookEntry> read(Path file, StringDictionary dictionary) throws IOException {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        Objects.requireNonNull(dictionary, "Given dictionary must not be null.");
+
+        CountingInputStream counted = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES), Files.size(file));
+        try (DataInputStream in = new DataInputStream(counted)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a library snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+
+            String[] strings = new String[readLength(in, counted, 1, MAX_ENTRIES, "string count")];
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < strings.length; i++) {
+                int length = readLength(in, counted, 1, MAX_STRING_BYTES, "string length");
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                in.readFully(scratch, 0, length);
+                strings[i] = dictionary.intern(new String(scratch, 0, length, StandardCharsets.UTF_8));
+            }
+
+            int bookCount = readLength(in, counted, MIN_BOOK_BYTES, MAX_ENTRIES, "book count");
+            List<BookEntry> books = new ArrayList<>(bookCount);
+            for (int i = 0; i < bookCount; i++) {
+                String title = strings[readVarInt(in)];
+                String[] authors = new String[readLength(in, counted, 1, MAX_AUTHORS, "author count")];
+                for (int k = 0; k < authors.length; k++) {
+                    authors[k] = strings[readVarInt(in)];
+                }
+                float rating = in.readFloat();
+                String iSBN = readString(in, counted);
+                int pages = readVarInt(in);
+                books.add(new BookEntry(title, authors, rating, iSBN, pages));
+            }
+            return books;
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** _________________________ ENCODING HELPERS _________________________ */
+
+    private static void addString(String string, Map<String, Integer> stringIds, List<String> strings) {
+        if (!stringIds.containsKey(string)) {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, CountingInputStream counted) throws IOException {
+        byte[] bytes = new byte[readLength(in, counted, 1, MAX_STRING_BYTES, "string length")];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a count or length of items which take at least the given number of
+     * bytes each, checking it against the given maximum and the bytes left in
+     * the file before the caller allocates anything for it.
+     */
+    private static int readLength(DataInputStream in, CountingInputStream counted, int minBytes, int max,
+                                  String what) throws IOException {
+        int length = readVarInt(in);
+        if (length > max || (long) length * minBytes > counted.remaining()) {
+            throw new StreamCorruptedException("Snapshot " + what + " " + length + " is out of range.");
+        }
+        return length;
+    }
+
+    /**
+     * Write a non negative integer using seven bits per byte, the highest bit
+     * marking that more bytes follow.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Negative length or index in snapshot.");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer in snapshot.");
+    }
+
+    /** Input stream counting the bytes read, so the bytes left in the file are known. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final long size;
+        private long position;
+
+        CountingInputStream(InputStream in, long size) {
+            super(in);
+            this.size = size;
+        }
+
+        /** Number of bytes of the file which have not been read yet. */
+        long remaining() {
+            return size - position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -11,12 +12,38 @@ import java.util.Objects;
  *      LIST short      -Displays a list of just the titles loaded.
  *      LIST long       -Displays all the information about the books loaded.
  *
+ *  Both forms list the books in the order of the library unless an order is given with:
+ *      sort rating     -Lists the books by rating, page count or title, optionally followed
+ *      sort pages       by asc (the default) or desc. Books with equal values keep the order
+ *      sort title       of the library, titles are compared ignoring upper and lower case.
+ *
+ *  Large libraries can be listed page by page. Both forms accept the options:
+ *      limit N         -Displays at most N books.
+ *      offset M        -Skips the first M books.
+ *      cursor T        -Continues a previous listing where its page ended. The cursor
+ *                       is printed after every page which is not the last one and stays
+ *                       valid as long as the library does not change.
+ *
+ *     i.e: LIST long limit 20 offset 40
+ *          LIST short sort rating desc limit 10
+ *          LIST short cursor 3-a-a
  */
 public class ListCmd extends LibraryCommand {
 
     private String argumentInput;
+    private String form;
+    private int limit;
+    private int offset;
+    /** Limit of the page the cursor was printed after, used if no limit is given. */
+    private int cursorLimit;
+    /** Version of the library the cursor was created for, negative if no cursor was given. */
+    private long cursorVersion;
+    /** Order of the listed books, null for the order of the library. */
+    private SortKey sortKey;
+    private boolean descending;
 
-    /** Constructor of the class ListCmd. It gets an argumentInput, which can be empty, short or long.
+    /** Constructor of the class ListCmd. It gets an argumentInput, which can be empty, short or long,
+     * optionally followed by the options limit, offset and cursor.
      *
      * @param argumentInput argument input as expected by the extending subclass.
      * @throws IllegalArgumentException if given arguments are invalid
@@ -28,17 +55,43 @@ public class ListCmd extends LibraryCommand {
 
     /** _________________________ OVERRIDE FUNCTIONS _________________________*/
     /** Override function of parseArguments which checks if the argumentInput is valid.
-     * It can only be blank, long or short.
+     * It can only be blank, long or short, followed by the options sort, limit, offset and
+     * cursor with their values, each of them at most once. The sort order may be followed
+     * by asc or desc. A cursor already defines the offset, so it cannot be combined with offset.
      *
      * @param argumentInput argument input for this command.
      * @return a boolean value which indicates if the input argument is valid.
      */
     @Override
     protected boolean parseArguments(String argumentInput) {
-        boolean isParsedArgument = false;
-        if (argumentInput.strip().equals(Utils.LONG) || argumentInput.strip().equals(Utils.SHORT) || argumentInput.isBlank()) {
+        this.form = Utils.SHORT;
+        this.limit = -1;
+        this.offset = -1;
+        this.cursorLimit = -1;
+        this.cursorVersion = -1;
+        this.sortKey = null;
+        this.descending = false;
+
+        String[] words = argumentInput.strip().split("\\s+");
+        int next = 0;
+        if (words[0].equals(Utils.SHORT) || words[0].equals(Utils.LONG)) {
+            this.form = words[0];
+            next = 1;
+        } else if (words[0].isEmpty()) {
+            next = 1;
+        }
+
+        boolean isParsedArgument = true;
+        for (int i = next; isParsedArgument && i < words.length; i += 2) {
+            isParsedArgument = i + 1 < words.length && parseOption(words[i], words[i + 1]);
+            if (isParsedArgument && words[i].equals(Utils.SORT) && i + 2 < words.length
+                    && (words[i + 2].equals(Utils.ASCENDING) || words[i + 2].equals(Utils.DESCENDING))) {
+                this.descending = words[i + 2].equals(Utils.DESCENDING);
+                i++;
+            }
+        }
+        if (isParsedArgument) {
             this.argumentInput = argumentInput;
-            isParsedArgument = true;
         }
         return isParsedArgument;
     }
@@ -56,25 +109,138 @@ public class ListCmd extends LibraryCommand {
 
         /** _________________________ ERROR CHECKING _________________________ */
         Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
-        Utils.emptyDataWarning(data);
+        if (cursorVersion >= 0 && cursorVersion != data.getVersion()) {
+            System.err.println(Utils.ERROR_STALE_CURSOR);
+            return;
+        }
+        CommandOutput out = openOutput();
+        Utils.emptyDataWarning(data, out);
         /** _________________________ EXECUTE DEFINITION _________________________ */
         List<BookEntry> list_of_books = data.getBookData();
-        String argumentStriped = argumentInput.strip();
+        int size = list_of_books.size();
+        int pageLimit = limit >= 0 ? limit : cursorLimit;
+        boolean isPaged = pageLimit >= 0 || offset >= 0;
+        int first = Math.max(offset, 0);
+        int end = pageLimit >= 0 ? (int) Math.min((long) first + pageLimit, size) : size;
 
-        if ((argumentStriped.equals(Utils.SHORT)  || argumentStriped.equals(Utils.LONG) || argumentInput.isBlank()) && list_of_books.size() > 0) {
-            System.out.println(list_of_books.size() + " books in library:");
+        if (size > 0) {
+            out.println(size + " books in library:");
 
-            /** LIST short or LIST case*/
-            if (argumentInput.isBlank() || argumentStriped.equals(Utils.SHORT)) {
-                for (int i = 0; i < list_of_books.size(); i++) {
-                    System.out.println(list_of_books.get(i).getTitle());
-                }
-            /** LIST long case*/
-            } else if (argumentStriped.equals(Utils.LONG)) {
-                for (int i = 0; i < list_of_books.size(); i++) {
-                    System.out.println(list_of_books.get(i).toString() + "\n");
+            List<BookEntry> page = sortKey == null || first >= end
+                    ? list_of_books.subList(Math.min(first, end), end)
+                    : data.getSortedBooks(sortKey, descending, first, end - first);
+            for (int i = 0; i < page.size(); i++) {
+                /** LIST short or LIST case*/
+                if (form.equals(Utils.SHORT)) {
+                    out.println(page.get(i).getTitle());
+                /** LIST long case*/
+                } else {
+                    out.print(page.get(i).toString());
+                    out.print(Utils.NEXT_LINE);
+                    out.println();
                 }
             }
+            if (isPaged) {
+                printPageFooter(out, data.getVersion(), first, end, size, pageLimit);
+            }
+        }
+        out.flush();
+    }
+
+    /** _________________________ HELPER FUNCTIONS _________________________*/
+    /** Helper function which parses a single option and its value.
+     *
+     * @param option name of the option
+     * @param value value of the option
+     * @return a boolean value which indicates if the option is valid and has not been given before.
+     */
+    private boolean parseOption(String option, String value) {
+        boolean isParsedOption = false;
+        try {
+            switch (option) {
+                case Utils.LIMIT:
+                    isParsedOption = limit < 0 && (limit = Integer.parseInt(value)) > 0;
+                    break;
+                case Utils.OFFSET:
+                    isParsedOption = offset < 0 && cursorVersion < 0 && (offset = Integer.parseInt(value)) >= 0;
+                    break;
+                case Utils.CURSOR:
+                    isParsedOption = cursorVersion < 0 && offset < 0 && parseCursor(value);
+                    break;
+                case Utils.SORT:
+                    isParsedOption = sortKey == null && parseSortKey(value);
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            isParsedOption = false;
+        }
+        return isParsedOption;
+    }
+
+    /** Helper function which parses the order the books are listed in.
+     *
+     * @param value name of the order, rating, pages or title
+     * @return a boolean value which indicates if the order exists.
+     */
+    private boolean parseSortKey(String value) {
+        for (SortKey key : SortKey.values()) {
+            if (key.name().toLowerCase(Locale.ROOT).equals(value)) {
+                this.sortKey = key;
+            }
+        }
+        return sortKey != null;
+    }
+
+    /** Helper function which parses a cursor printed after a previous page. A cursor holds the
+     *  version of the library, the offset of the next page and the limit of the previous page,
+     *  which is used unless a new limit is given.
+     *
+     * @param cursor the cursor as printed by a previous LIST
+     * @return a boolean value which indicates if the cursor is well formed.
+     */
+    private boolean parseCursor(String cursor) {
+        String[] parts = cursor.split(Utils.CURSOR_SEPARATOR);
+        if (parts.length != 3) {
+            return false;
+        }
+        long version = Long.parseLong(parts[0], Character.MAX_RADIX);
+        int cursorOffset = Integer.parseInt(parts[1], Character.MAX_RADIX);
+        int cursorLimit = Integer.parseInt(parts[2], Character.MAX_RADIX);
+        if (version < 0 || cursorOffset < 0 || cursorLimit <= 0) {
+            return false;
+        }
+        this.cursorVersion = version;
+        this.offset = cursorOffset;
+        this.cursorLimit = cursorLimit;
+        return true;
+    }
+
+    /** Helper function which prints which books of the library have been listed and, unless
+     *  the last book has been listed, the command to list the next page.
+     *
+     * @param out output of the command the footer is printed to.
+     * @param version current version of the library
+     * @param first index of the first listed book
+     * @param end index after the last listed book
+     * @param size number of books in the library
+     * @param pageLimit limit of the listed page, negative if there is none
+     */
+    private void printPageFooter(CommandOutput out, long version, int first, int end, int size, int pageLimit) {
+        if (first >= end) {
+            out.println(String.format(Utils.LIST_PAGE_EMPTY_FORMAT, first));
+            return;
+        }
+        out.print(String.format(Utils.LIST_PAGE_FORMAT, first + 1, end));
+        if (end < size) {
+            String cursor = Long.toString(version, Character.MAX_RADIX) + Utils.CURSOR_SEPARATOR
+                    + Integer.toString(end, Character.MAX_RADIX) + Utils.CURSOR_SEPARATOR
+                    + Integer.toString(pageLimit, Character.MAX_RADIX);
+            String order = sortKey == null ? "" : " " + Utils.SORT + " " + sortKey.name().toLowerCase(Locale.ROOT)
+                    + " " + (descending ? Utils.DESCENDING : Utils.ASCENDING);
+            out.print(String.format(Utils.LIST_CONTINUE_FORMAT, form, order, Utils.CURSOR, cursor));
         }
+        out.println();
     }
-}
\ No newline at end of file
+}
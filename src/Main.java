@@ -1,12 +1,72 @@
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 /** Main entry point into the library browser program. */
 public class Main {
 
     /**
      * Start the library browser program.
-     * @param args not used for arguments
+     *
+     * Without arguments the library browser runs interactively. With
+     * --script followed by a file it runs the commands of the file, and with
+     * --batch it runs the commands read from the standard input, both without
+     * prompting. A batch run exits with status 1 if any line could not be run.
+     * With --serve, optionally followed by a port, the library is served over
+     * HTTP instead, see LibraryServer.
+     *
+     * @param args nothing, --script and a file, --batch, or --serve and a port
      */
     public static void main(String[] args) {
-        LibraryBrowser browser = new LibraryBrowser();
-        browser.run();
+        if (args.length == 0) {
+            new LibraryBrowser().run();
+        } else if (args.length == 2 && args[0].equals(Utils.SCRIPT_OPTION)) {
+            int failures;
+            try (Reader script = Files.newBufferedReader(Paths.get(args[1]))) {
+                failures = new LibraryBrowser().runBatch(script);
+            } catch (IOException e) {
+                System.err.println(Utils.ERROR_SCRIPT_READ + e.getMessage());
+                failures = 1;
+            }
+            exitBatch(failures);
+        } else if (args.length == 1 && args[0].equals(Utils.BATCH_OPTION)) {
+            exitBatch(new LibraryBrowser().runBatch(new InputStreamReader(System.in)));
+        } else if ((args.length == 1 || args.length == 2 && args[1].matches("\\d+")) && args[0].equals(Utils.SERVE_OPTION)) {
+            serve(args.length == 2 ? Integer.parseInt(args[1]) : Utils.DEFAULT_SERVER_PORT);
+        } else {
+            System.err.println(Utils.ERROR_USAGE);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Serve an empty library over HTTP until the program is stopped.
+     * Books are added through the endpoint /add from files of the data
+     * directory, set with the system property library.server.dataDir.
+     * @param port port to listen on
+     */
+    private static void serve(int port) {
+        try {
+            LibraryServer server = new LibraryServer(new LibraryData(), Paths.get(Utils.SERVER_DATA_DIRECTORY), port);
+            server.start();
+            System.out.println(String.format(Utils.SERVER_STARTED_FORMAT, server.getPort(),
+                    server.usesVirtualThreads() ? "a virtual thread per request" : "a cached thread pool",
+                    server.getDataDirectory()));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(Utils.ERROR_SERVER_START + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * End a batch run with a failure status if any line could not be run.
+     * @param failures number of lines which could not be run
+     */
+    private static void exitBatch(int failures) {
+        if (failures > 0) {
+            System.exit(1);
+        }
     }
 }
@@ -0,0 +1,66 @@
+import java.util.Objects;
+
+/**
+ *  MemoryCmd is a class which defines the command MEMORY in the program. It
+ *  reports how many distinct titles and authors the loaded books refer to and
+ *  an estimate of the memory saved by sharing repeated titles and authors
+ *  between them, both counted from the books currently loaded. It is followed
+ *  by the size of the column store, a copy of the ratings, pages, titles and
+ *  authors of the books kept for scans in addition to the book entries.
+ *
+ *  The command options are:
+ *      MEMORY
+ */
+public class MemoryCmd extends LibraryCommand {
+
+    /** Constructor of the class MemoryCmd. It gets an argumentInput, which must be blank.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public MemoryCmd(String argumentInput) {
+        super(CommandType.MEMORY, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It must be blank.
+     *
+     * @param argumentInput argument input for this command
+     * @return a boolean value indicating if the input argument is valid
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        return argumentInput.isBlank();
+    }
+
+    /** Override function of execute which defines what the MEMORY command does.
+     *  Data cannot be null.
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+
+        StringDictionary dictionary = data.getDictionary();
+        LibraryColumns columns = data.getColumns();
+        int[] referenceCounts = columns.referenceCounts();
+        int distinct = 0;
+        long references = 0;
+        for (int count : referenceCounts) {
+            distinct += count > 0 ? 1 : 0;
+            references += count;
+        }
+        long savedBytes = dictionary.savedBytes(referenceCounts);
+        long overheadBytes = dictionary.overheadBytes(referenceCounts);
+        CommandOutput out = openOutput();
+        out.println(String.format(Utils.MEMORY_DICTIONARY_FORMAT, distinct, references));
+        out.println(String.format(Utils.MEMORY_BYTES_FORMAT, dictionary.stringBytes(referenceCounts), overheadBytes));
+        out.println(String.format(Utils.MEMORY_SAVED_FORMAT, savedBytes, savedBytes - overheadBytes));
+        out.println(String.format(Utils.MEMORY_COLUMNS_FORMAT, columns.memoryBytes(), columns.size()));
+        out.flush();
+    }
+
+}
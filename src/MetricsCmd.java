@@ -0,0 +1,76 @@
+import java.util.Objects;
+
+/**
+ *  MetricsCmd is a class which defines the command METRICS in the program. It
+ *  reports the latencies of the commands run so far for every type of command
+ *  which has been run: how often it ran, its total time, the times below which
+ *  50, 90 and 99 percent of the runs finished and its longest run.
+ *
+ *  The command options are:
+ *      METRICS
+ *
+ *  A METRICS command is recorded once it has finished, so it is not part of
+ *  its own report.
+ */
+public class MetricsCmd extends LibraryCommand {
+
+    /** Constructor of the class MetricsCmd. It gets an argumentInput, which must be blank.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public MetricsCmd(String argumentInput) {
+        super(CommandType.METRICS, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It must be blank.
+     *
+     * @param argumentInput argument input for this command
+     * @return a boolean value indicating if the input argument is valid
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        return argumentInput.isBlank();
+    }
+
+    /** Override function of execute which defines what the METRICS command does.
+     *  Data cannot be null.
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+
+        CommandMetrics metrics = CommandMetrics.shared();
+        CommandOutput out = openOutput();
+        boolean anyRun = false;
+        for (CommandType type : CommandType.values()) {
+            LatencyHistogram histogram = metrics.get(type);
+            if (histogram.getCount() > 0) {
+                anyRun = true;
+                out.println(String.format(Utils.METRICS_FORMAT, type, histogram.getCount(),
+                        toMillis(histogram.getTotalNanos()), toMillis(histogram.percentile(50)),
+                        toMillis(histogram.percentile(90)), toMillis(histogram.percentile(99)),
+                        toMillis(histogram.getMaxNanos())));
+            }
+        }
+        if (!anyRun) {
+            out.println(Utils.METRICS_NONE);
+        }
+        out.flush();
+    }
+
+    /** _________________________ HELPER FUNCTIONS _________________________*/
+    /** Helper function which turns nanoseconds into milliseconds.
+     *
+     * @param nanos time in nanoseconds
+     * @return time in milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return nanos / Utils.NANOS_PER_MILLISECOND;
+    }
+}
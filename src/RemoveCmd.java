@@ -1,5 +1,3 @@
-import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 
 /** RemoveCmd is a class which defines the command REMOVE in the program. It
@@ -65,10 +63,11 @@ public class RemoveCmd extends LibraryCommand {
 
         /** _________________________ ERROR CHECKING _________________________ */
         Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
-        Utils.emptyDataWarning(data);
+        CommandOutput out = openOutput();
+        Utils.emptyDataWarning(data, out);
         /** _________________________ EXECUTE DEFINITION _________________________ */
-        List<BookEntry> list_of_books = data.getBookData();
-        Utils.generalRemove(list_of_books, argumentInputArray[0], argumentInput);
+        Utils.generalRemove(data, argumentInputArray[0], argumentInput, out);
+        out.flush();
 
     }
 
@@ -0,0 +1,65 @@
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ *  RestoreCmd is a class which defines the command RESTORE in the program. It
+ *  replaces the books of the library with the books of a snapshot file written
+ *  by SNAPSHOT. As snapshots are already free of duplicates, the books are not
+ *  checked for duplicates again.
+ *  It is followed by the path of the snapshot file.
+ *
+ *  The command options are:
+ *      RESTORE path
+ *
+ *     i.e: RESTORE library.snapshot
+ */
+public class RestoreCmd extends LibraryCommand {
+
+    private String argumentInput;
+
+    /** Constructor of the class RestoreCmd. It gets an argumentInput, which must be
+     * a path to the snapshot file. This input cannot be null or empty.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public RestoreCmd(String argumentInput) {
+        super(CommandType.RESTORE, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It cannot be blank.
+     *
+     * @param argumentInput argument input for this command
+     * @return a boolean value indicating if the input argument is valid
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        boolean isArgumentParsed = false;
+        if (!argumentInput.isBlank()) {
+            this.argumentInput = argumentInput.strip();
+            isArgumentParsed = true;
+        }
+        return isArgumentParsed;
+    }
+
+    /** Override function of execute which defines what the RESTORE command does.
+     *  Data cannot be null.
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        Objects.requireNonNull(argumentInput, Utils.ERROR_NULL);
+
+        try {
+            data.restoreSnapshot(Paths.get(argumentInput));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+}
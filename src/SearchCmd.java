@@ -1,5 +1,4 @@
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
@@ -67,23 +66,24 @@ public class SearchCmd extends LibraryCommand {
 
         /** _________________________ ERROR CHECKING _________________________ */
         Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
-        Utils.emptyDataWarning(data);
+        CommandOutput out = openOutput();
+        Utils.emptyDataWarning(data, out);
         /** _______________________ EXECUTE DEFINITION _______________________ */
-        List<BookEntry> list_of_books = data.getBookData();
         List<String> booksFound = new ArrayList<>();
 
         /* Add to booksFound list, the results of the search of titles which are valid */
-        String searchedTitle = argumentInput.strip().toUpperCase();
+        String searchedTitle = BookEntry.normalize(argumentInput.strip());
 
-        Utils.searchBooks(list_of_books, booksFound, searchedTitle);
+        Utils.searchBooks(data, booksFound, searchedTitle);
 
         if (booksFound.size() == 0) {
-            System.out.println("No hits found for search term: " + argumentInput);
+            out.println("No hits found for search term: " + argumentInput);
         } else {
             for (int i = 0; i < booksFound.size(); i++) {
-                System.out.println(booksFound.get(i));
+                out.println(booksFound.get(i));
             }
         }
+        out.flush();
     }
 
 
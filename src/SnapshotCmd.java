@@ -0,0 +1,64 @@
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ *  SnapshotCmd is a class which defines the command SNAPSHOT in the program. It
+ *  saves all the books of the library to a compact binary file which can be
+ *  loaded again much faster than the original csv files using RESTORE.
+ *  It is followed by the path of the snapshot file.
+ *
+ *  The command options are:
+ *      SNAPSHOT path
+ *
+ *     i.e: SNAPSHOT library.snapshot
+ */
+public class SnapshotCmd extends LibraryCommand {
+
+    private String argumentInput;
+
+    /** Constructor of the class SnapshotCmd. It gets an argumentInput, which must be
+     * a path to the snapshot file. This input cannot be null or empty.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public SnapshotCmd(String argumentInput) {
+        super(CommandType.SNAPSHOT, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It cannot be blank.
+     *
+     * @param argumentInput argument input for this command
+     * @return a boolean value indicating if the input argument is valid
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        boolean isArgumentParsed = false;
+        if (!argumentInput.isBlank()) {
+            this.argumentInput = argumentInput.strip();
+            isArgumentParsed = true;
+        }
+        return isArgumentParsed;
+    }
+
+    /** Override function of execute which defines what the SNAPSHOT command does.
+     *  Data cannot be null.
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        Objects.requireNonNull(argumentInput, Utils.ERROR_NULL);
+
+        try {
+            data.saveSnapshot(Paths.get(argumentInput));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Books of the library in a sort order, kept up to date while books are
+ * added and removed, so sorted listings do not have to sort the whole
+ * library again.
+ *
+ * Books are kept in buckets ordered by their sort key. Books with equal keys
+ * keep the order in which they were added, in both directions. Ratings only
+ * range from 0.00 to 5.00, so they are counted into one bucket per hundredth
+ * of a point, which are kept sorted by the exact rating. Other keys, such as
+ * pages or titles, are kept in a sorted map with one bucket for every key.
+ *
+ * A page of the order is found by skipping whole buckets, so its cost depends
+ * on the number of buckets before it and the size of the page, not on the
+ * number of books before it.
+ */
+public abstract class SortIndex {
+
+    private int size;
+
+    /** Create a new and empty sort index. */
+    private SortIndex() {
+        size = 0;
+    }
+
+    /**
+     * Create a sort index ordering books by rating.
+     * @return new and empty sort index
+     */
+    public static SortIndex byRating() {
+        return new RatingIndex();
+    }
+
+    /**
+     * Create a sort index ordering books by a key of their own.
+     * @param key function returning the sort key of a book
+     * @param <K> type of the sort key
+     * @return new and empty sort index
+     * @throws NullPointerException if the given function is null
+     */
+    public static <K extends Comparable<K>> SortIndex byKey(Function<BookEntry, K> key) {
+        return new KeyIndex<>(Objects.requireNonNull(key, "Given key function must not be null."));
+    }
+
+    /**
+     * Add a book after all books with the same sort key.
+     * @param book book to be added
+     * @throws NullPointerException if the given book is null
+     */
+    public void add(BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        List<BookEntry> bucket = bucketFor(book);
+        int position = bucket.size();
+        while (position > 0 && compareInBucket(bucket.get(position - 1), book) > 0) {
+            position--;
+        }
+        bucket.add(position, book);
+        size++;
+    }
+
+    /**
+     * Remove a book from the index. The book is found in its bucket by identity.
+     * @param book book to be removed
+     * @throws NullPointerException if the given book is null
+     */
+    public void remove(BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        List<BookEntry> bucket = existingBucketFor(book);
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == book) {
+                bucket.remove(i);
+                size--;
+                if (bucket.isEmpty()) {
+                    dropBucketOf(book);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove books from the index.
+     * @param removed books to be removed
+     * @throws NullPointerException if the given set is null
+     */
+    public void removeAll(Set<BookEntry> removed) {
+        Objects.requireNonNull(removed, "Given books must not be null.");
+        Map<List<BookEntry>, BookEntry> affected = new IdentityHashMap<>();
+        for (BookEntry book : removed) {
+            List<BookEntry> bucket = existingBucketFor(book);
+            if (bucket != null) {
+                affected.putIfAbsent(bucket, book);
+            }
+        }
+        for (Map.Entry<List<BookEntry>, BookEntry> entry : affected.entrySet()) {
+            List<BookEntry> bucket = entry.getKey();
+            int sizeBefore = bucket.size();
+            bucket.removeIf(removed::contains);
+            size -= sizeBefore - bucket.size();
+            if (bucket.isEmpty()) {
+                dropBucketOf(entry.getValue());
+            }
+        }
+    }
+
+    /** Remove all books from the index. */
+    public void clear() {
+        clearBuckets();
+        size = 0;
+    }
+
+    /**
+     * Get the number of books in the index.
+     * @return number of books
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a page of the books in sort order.
+     *
+     * @param offset number of books to skip
+     * @param count maximal number of books of the page
+     * @param descending true for the largest keys first, false for the smallest keys first
+     * @return books of the page in sort order
+     * @throws IllegalArgumentException if the offset or count is negative
+     */
+    public List<BookEntry> page(int offset, int count, boolean descending) {
+        if (offset < 0 || count < 0) {
+            throw new IllegalArgumentException("Offset and count must not be negative.");
+        }
+        List<BookEntry> page = new ArrayList<>(Math.max(0, Math.min(count, size - offset)));
+        int skip = offset;
+        for (List<BookEntry> bucket : buckets(descending)) {
+            if (page.size() == count) {
+                break;
+            }
+            if (skip >= bucket.size()) {
+                skip -= bucket.size();
+                continue;
+            }
+            List<BookEntry> ordered = descending ? descendingRuns(bucket) : bucket;
+            for (int i = skip; i < ordered.size() && page.size() < count; i++) {
+                page.add(ordered.get(i));
+            }
+            skip = 0;
+        }
+        return page;
+    }
+
+    /**
+     * Reverse the order of a bucket whose books do not all compare equal,
+     * keeping books with equal keys in the order in which they were added.
+     */
+    private List<BookEntry> descendingRuns(List<BookEntry> bucket) {
+        if (bucket.isEmpty() || compareInBucket(bucket.get(0), bucket.get(bucket.size() - 1)) == 0) {
+            return bucket;
+        }
+        List<BookEntry> reversed = new ArrayList<>(bucket.size());
+        int end = bucket.size();
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && compareInBucket(bucket.get(start - 1), bucket.get(end - 1)) == 0) {
+                start--;
+            }
+            reversed.addAll(bucket.subList(start, end));
+            end = start;
+        }
+        return reversed;
+    }
+
+    /** _________________________ BUCKET STRUCTURE _________________________ */
+
+    /** Get the bucket of a book, creating it if it does not exist. */
+    abstract List<BookEntry> bucketFor(BookEntry book);
+
+    /** Get the bucket of a book or null if it does not exist. */
+    abstract List<BookEntry> existingBucketFor(BookEntry book);
+
+    /** Get all buckets in ascending or descending order of their keys. */
+    abstract Iterable<List<BookEntry>> buckets(boolean descending);
+
+    /** Compare two books of the same bucket. */
+    abstract int compareInBucket(BookEntry first, BookEntry second);
+
+    /** Drop the empty bucket of a book. */
+    abstract void dropBucketOf(BookEntry book);
+
+    abstract void clearBuckets();
+
+    /** Counting buckets for ratings from 0.00 to 5.00, one per hundredth of a point. */
+    private static final class RatingIndex extends SortIndex {
+
+        private static final int BUCKETS_PER_POINT = 100;
+        private static final int MAX_RATING = 5;
+        private static final Comparator<BookEntry> BY_RATING = Comparator.comparingDouble(BookEntry::getRating);
+
+        private final List<List<BookEntry>> buckets;
+
+        private RatingIndex() {
+            buckets = new ArrayList<>(MAX_RATING * BUCKETS_PER_POINT + 1);
+            for (int i = 0; i <= MAX_RATING * BUCKETS_PER_POINT; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        List<BookEntry> bucketFor(BookEntry book) {
+            return buckets.get(Math.round(book.getRating() * BUCKETS_PER_POINT));
+        }
+
+        @Override
+        List<BookEntry> existingBucketFor(BookEntry book) {
+            return bucketFor(book);
+        }
+
+        @Override
+        Iterable<List<BookEntry>> buckets(boolean descending) {
+            if (!descending) {
+                return buckets;
+            }
+            List<List<BookEntry>> reversed = new ArrayList<>(buckets);
+            Collections.reverse(reversed);
+            return reversed;
+        }
+
+        @Override
+        int compareInBucket(BookEntry first, BookEntry second) {
+            return BY_RATING.compare(first, second);
+        }
+
+        @Override
+        void dropBucketOf(BookEntry book) {
+            // counting buckets are kept even if they are empty
+        }
+
+        @Override
+        void clearBuckets() {
+            for (List<BookEntry> bucket : buckets) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /** Sorted map with one bucket for every key. */
+    private static final class KeyIndex<K extends Comparable<K>> extends SortIndex {
+
+        private final Function<BookEntry, K> key;
+        private final NavigableMap<K, List<BookEntry>> buckets;
+
+        private KeyIndex(Function<BookEntry, K> key) {
+            this.key = key;
+            this.buckets = new TreeMap<>();
+        }
+
+        @Override
+        List<BookEntry> bucketFor(BookEntry book) {
+            return buckets.computeIfAbsent(key.apply(book), k -> new ArrayList<>(1));
+        }
+
+        @Override
+        List<BookEntry> existingBucketFor(BookEntry book) {
+            return buckets.get(key.apply(book));
+        }
+
+        @Override
+        Iterable<List<BookEntry>> buckets(boolean descending) {
+            return descending ? buckets.descendingMap().values() : buckets.values();
+        }
+
+        @Override
+        int compareInBucket(BookEntry first, BookEntry second) {
+            return 0;
+        }
+
+        @Override
+        void dropBucketOf(BookEntry book) {
+            buckets.remove(key.apply(book));
+        }
+
+        @Override
+        void clearBuckets() {
+            buckets.clear();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/** All orders the books of the library can be listed in. */
+public enum SortKey {
+    RATING,
+    PAGES,
+    TITLE
+}
@@ -0,0 +1,128 @@
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ *  StatsCmd is a class which defines the command STATS in the program and reports
+ *  statistics of the books in the library: the number of books, the mean, smallest
+ *  and largest rating, the total and median number of pages and the authors who
+ *  wrote the most books.
+ *
+ *  The command options are:
+ *      STATS               - Displays the statistics of the whole library.
+ *      STATS BY AUTHOR     - Displays the statistics of the books of every author,
+ *                              sorted by author.
+ *      STATS BY LETTER     - Displays the statistics of the books grouped by the first
+ *                              letter of their title, as GROUP TITLE groups them.
+ *
+ *  Large libraries are reduced in parallel, which gives the same results.
+ */
+public class StatsCmd extends LibraryCommand {
+
+    private String grouping;
+
+    /** Constructor of the class StatsCmd. It gets an argumentInput which must be blank,
+     *  BY AUTHOR or BY LETTER.
+     *
+     * @param argumentInput argument input as expected by the extending subclass.
+     * @throws IllegalArgumentException if given arguments are invalid
+     * @throws NullPointerException     if any of the given parameters are null.
+     */
+    public StatsCmd(String argumentInput) {
+        super(CommandType.STATS, argumentInput);
+    }
+
+    /** _________________________ OVERRIDE FUNCTIONS _________________________*/
+    /** Override function of parseArguments which checks if the argumentInput is valid.
+     *  It can only be blank, BY AUTHOR or BY LETTER.
+     *
+     * @param argumentInput argument input for this command
+     * @return a boolean value indicating if the input argument is valid
+     */
+    @Override
+    protected boolean parseArguments(String argumentInput) {
+        String[] words = argumentInput.strip().split("\\s+");
+        boolean isArgumentParsed = false;
+        if (argumentInput.isBlank()) {
+            this.grouping = "";
+            isArgumentParsed = true;
+        } else if (words.length == 2 && words[0].equals(Utils.BY)
+                && (words[1].equals(Utils.AUTHOR) || words[1].equals(Utils.LETTER))) {
+            this.grouping = words[1];
+            isArgumentParsed = true;
+        }
+        return isArgumentParsed;
+    }
+
+    /** Override function of execute which defines what the STATS command does.
+     *  Data cannot be null.
+     *
+     *  In case the library is empty it returns "The library has no book entries" and
+     *      "Please import a library"
+     *
+     * @param data book data to be considered for command execution.
+     */
+    @Override
+    public void execute(LibraryData data) {
+
+        /** _________________________ ERROR CHECKING _________________________ */
+        Objects.requireNonNull(data, Utils.ERROR_DATA_NULL);
+        CommandOutput out = openOutput();
+        Utils.emptyDataWarning(data, out);
+        /** _______________________ EXECUTE DEFINITION _______________________ */
+        boolean parallel = data.getBookData().size() >= Utils.STATS_PARALLEL_THRESHOLD;
+
+        if (!data.getBookData().isEmpty()) {
+            switch (grouping) {
+                case Utils.AUTHOR:
+                    printGroups(BookStats.byAuthor(data, parallel), out);
+                    break;
+                case Utils.LETTER:
+                    printGroups(BookStats.byLetter(data, parallel), out);
+                    break;
+                default:
+                    printLibraryStats(data, parallel, out);
+                    break;
+            }
+        }
+        out.flush();
+    }
+
+    /** _________________________ HELPER FUNCTIONS _________________________*/
+    /** Helper function which prints the statistics of the whole library followed by the
+     *  authors who wrote the most books.
+     *
+     * @param data book data the statistics are computed for
+     * @param parallel true if the statistics should be computed in parallel
+     * @param out output of the command the statistics are printed to.
+     */
+    private static void printLibraryStats(LibraryData data, boolean parallel, CommandOutput out) {
+        BookStats stats = BookStats.of(data.getColumns(), parallel);
+        out.println(String.format(Utils.STATS_COUNT_FORMAT, stats.getCount()));
+        out.println(String.format(Utils.STATS_RATING_FORMAT, stats.getMeanRating(), stats.getMinRating(), stats.getMaxRating()));
+        out.println(String.format(Utils.STATS_PAGES_FORMAT, stats.getTotalPages(), stats.getMedianPages()));
+
+        out.println(Utils.STATS_TOP_AUTHORS);
+        List<Map.Entry<String, Integer>> topAuthors = BookStats.topAuthors(data, Utils.STATS_TOP_AUTHORS_COUNT);
+        for (Map.Entry<String, Integer> author : topAuthors) {
+            out.print(Utils.SPACING_FOR_GROUPING);
+            out.println(String.format(Utils.STATS_TOP_AUTHOR_FORMAT, author.getKey(), author.getValue()));
+        }
+    }
+
+    /** Helper function which prints the statistics of every group under its name.
+     *
+     * @param groups statistics of every group in the order they are printed
+     * @param out output of the command the statistics are printed to.
+     */
+    private static void printGroups(Map<String, BookStats> groups, CommandOutput out) {
+        for (Map.Entry<String, BookStats> group : groups.entrySet()) {
+            BookStats stats = group.getValue();
+            out.print(Utils.GROUP_HASH);
+            out.println(group.getKey());
+            out.print(Utils.SPACING_FOR_GROUPING);
+            out.println(String.format(Utils.STATS_GROUP_FORMAT, stats.getCount(), stats.getMeanRating(),
+                    stats.getMinRating(), stats.getMaxRating(), stats.getTotalPages(), stats.getMedianPages()));
+        }
+    }
+}
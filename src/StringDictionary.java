@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Library wide dictionary of the titles and authors of all loaded books.
+ *
+ * Every distinct string is stored once and gets a numeric id, so repeated
+ * authors share a single String instance and can be compared by identity or
+ * by id. The dictionary is safe to be used by several threads at once, which
+ * allows parallel loaders to share it.
+ *
+ * Single strings are not removed when the last book using them is removed.
+ * Instead the whole dictionary is cleared and refilled with the strings of
+ * the remaining books whenever the library rebuilds its indexes, and the
+ * memory estimates only count strings which are still referenced.
+ */
+public final class StringDictionary {
+
+    /** Estimated size of a String object without its character array. */
+    private static final int STRING_OBJECT_BYTES = 24;
+    /** Estimated size of an array header. */
+    private static final int ARRAY_HEADER_BYTES = 16;
+    /** Estimated size of a hash map node, boxed id and table slot per dictionary entry. */
+    private static final int ENTRY_OVERHEAD_BYTES = 60;
+    /** Objects are aligned to this number of bytes. */
+    private static final int OBJECT_ALIGNMENT = 8;
+
+    private final ConcurrentHashMap<String, Integer> ids;
+    /** Strings by id, only written while holding the lock of the dictionary. */
+    private volatile String[] strings;
+    private volatile int size;
+
+    /** Create a new and empty dictionary. */
+    public StringDictionary() {
+        ids = new ConcurrentHashMap<>();
+        clear();
+    }
+
+    /**
+     * Remove all strings, so that ids are assigned from 0 again. Ids handed
+     * out before are no longer valid. Must not be called while other threads
+     * use the dictionary.
+     */
+    public synchronized void clear() {
+        ids.clear();
+        strings = new String[1024];
+        size = 0;
+    }
+
+    /**
+     * Get the shared instance of the given string. The string is added to the
+     * dictionary if it is not known yet.
+     *
+     * @param value string to be looked up
+     * @return the shared instance equal to the given string
+     * @throws NullPointerException if the given string is null
+     */
+    public String intern(String value) {
+        Objects.requireNonNull(value, "Given string must not be null.");
+        int id = idOf(value);
+        return strings[id];
+    }
+
+    /**
+     * Get the id of the given string. The string is added to the dictionary
+     * if it is not known yet.
+     *
+     * @param value string to be looked up
+     * @return id of the string, ids are assigned consecutively starting at 0
+     * @throws NullPointerException if the given string is null
+     */
+    public int idOf(String value) {
+        Objects.requireNonNull(value, "Given string must not be null.");
+        Integer id = ids.get(value);
+        return id != null ? id : ids.computeIfAbsent(value, this::append);
+    }
+
+    /**
+     * Find the id of the given string without adding it to the dictionary.
+     *
+     * @param value string to be looked up
+     * @return id of the string or -1 if the string is not in the dictionary
+     * @throws NullPointerException if the given string is null
+     */
+    public int find(String value) {
+        Objects.requireNonNull(value, "Given string must not be null.");
+        Integer id = ids.get(value);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the string with the given id.
+     *
+     * @param id id of the string
+     * @return string with the given id
+     * @throws IndexOutOfBoundsException if no string has the given id
+     */
+    public String get(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IndexOutOfBoundsException("No string with id " + id);
+        }
+        return strings[id];
+    }
+
+    /**
+     * Number of distinct strings in the dictionary.
+     * @return number of distinct strings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimated number of bytes saved by sharing strings which are referenced
+     * more than once instead of keeping a copy for every reference.
+     *
+     * @param referenceCounts number of references by string id, as counted by LibraryColumns.referenceCounts
+     * @return estimated saved bytes
+     * @throws NullPointerException if the given counts are null
+     */
+    public long savedBytes(int[] referenceCounts) {
+        Objects.requireNonNull(referenceCounts, "Given reference counts must not be null.");
+        String[] current = strings;
+        long bytes = 0;
+        for (int id = 0; id < Math.min(referenceCounts.length, size()); id++) {
+            if (referenceCounts[id] > 1) {
+                bytes += (referenceCounts[id] - 1) * estimateBytes(current[id]);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimated number of bytes used by the distinct strings which are still
+     * referenced.
+     *
+     * @param referenceCounts number of references by string id, as counted by LibraryColumns.referenceCounts
+     * @return estimated bytes of the referenced strings
+     * @throws NullPointerException if the given counts are null
+     */
+    public long stringBytes(int[] referenceCounts) {
+        Objects.requireNonNull(referenceCounts, "Given reference counts must not be null.");
+        String[] current = strings;
+        long bytes = 0;
+        for (int id = 0; id < Math.min(referenceCounts.length, size()); id++) {
+            if (referenceCounts[id] > 0) {
+                bytes += estimateBytes(current[id]);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimated number of bytes used by the dictionary itself to find and
+     * number the strings which are still referenced, without the strings.
+     *
+     * @param referenceCounts number of references by string id, as counted by LibraryColumns.referenceCounts
+     * @return estimated overhead in bytes
+     * @throws NullPointerException if the given counts are null
+     */
+    public long overheadBytes(int[] referenceCounts) {
+        Objects.requireNonNull(referenceCounts, "Given reference counts must not be null.");
+        long entries = 0;
+        for (int id = 0; id < Math.min(referenceCounts.length, size()); id++) {
+            entries += referenceCounts[id] > 0 ? 1 : 0;
+        }
+        return entries * ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Estimate the heap size of a string, assuming compact strings storing
+     * Latin-1 text with one byte per character.
+     *
+     * @param value string to be estimated
+     * @return estimated size in bytes
+     */
+    static long estimateBytes(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_OBJECT_BYTES + align(ARRAY_HEADER_BYTES + (long) value.length() * bytesPerChar);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    /**
+     * Store a new string and assign it the next id. Called while the hash map
+     * holds the lock of the string's bin, so the string is stored before its
+     * id becomes visible to other threads.
+     *
+     * @param value string to be stored
+     * @return id assigned to the string
+     */
+    private synchronized Integer append(String value) {
+        String[] current = strings;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        strings = current;
+        return size++;
+    }
+}
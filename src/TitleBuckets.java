@@ -0,0 +1,146 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Books of the library grouped by the first letter of their title, kept up to
+ * date while books are added and removed, so GROUP TITLE does not have to
+ * classify the whole library again.
+ *
+ * There is one bucket for each letter from A to Z, one for titles starting
+ * with any other letter and one for titles starting with a digit or any other
+ * character, in this order. Titles are classified by the first character of
+ * their title key. Latin letters with accents or other marks are put into the
+ * bucket of their base letter, so titles starting with an accented E are
+ * grouped with "E", while letters of other scripts, such as Greek or Cyrillic,
+ * are put into the bucket of other letters. Within every bucket books keep the
+ * order in which they were added.
+ *
+ * Buckets are plain lists, which are fast to walk. A single book is found in
+ * its bucket by identity and removed, while batches of books compact every
+ * affected bucket once.
+ */
+public final class TitleBuckets {
+
+    /** Bucket of titles starting with a letter which is not a Latin letter. */
+    public static final int OTHER_LETTERS = Utils.ALPHABET_LENGTH;
+    /** Bucket of titles starting with a digit or any other character. */
+    public static final int NUMBERS = OTHER_LETTERS + 1;
+    /** Number of buckets. */
+    public static final int BUCKET_COUNT = NUMBERS + 1;
+
+    private final List<List<BookEntry>> buckets;
+
+    /** Create new and empty buckets. */
+    public TitleBuckets() {
+        buckets = new ArrayList<>(BUCKET_COUNT);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Add a book to the bucket of its title.
+     * @param book book to be added
+     * @throws NullPointerException if the given book is null
+     */
+    public void add(BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        buckets.get(bucketOf(book.getTitleKey())).add(book);
+    }
+
+    /**
+     * Remove a book from the bucket of its title.
+     * @param book book to be removed
+     * @throws NullPointerException if the given book is null
+     */
+    public void remove(BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        List<BookEntry> bucket = buckets.get(bucketOf(book.getTitleKey()));
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == book) {
+                bucket.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove books from the buckets of their titles.
+     * @param removed books to be removed
+     * @throws NullPointerException if the given set is null
+     */
+    public void removeAll(Set<BookEntry> removed) {
+        Objects.requireNonNull(removed, "Given books must not be null.");
+        boolean[] affected = new boolean[BUCKET_COUNT];
+        for (BookEntry book : removed) {
+            affected[bucketOf(book.getTitleKey())] = true;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (affected[i]) {
+                buckets.get(i).removeIf(removed::contains);
+            }
+        }
+    }
+
+    /** Remove all books from the buckets. */
+    public void clear() {
+        for (List<BookEntry> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Get the books of a bucket in the order they were added.
+     * @param bucket number of the bucket
+     * @return read only view of the books of the bucket
+     * @throws IndexOutOfBoundsException if there is no bucket with the given number
+     */
+    public List<BookEntry> get(int bucket) {
+        return Collections.unmodifiableList(buckets.get(bucket));
+    }
+
+    /**
+     * Get the name of a bucket as printed by GROUP TITLE.
+     * @param bucket number of the bucket
+     * @return letter of the bucket or the name of the group of other titles
+     * @throws IndexOutOfBoundsException if there is no bucket with the given number
+     */
+    public static String labelOf(int bucket) {
+        Objects.checkIndex(bucket, BUCKET_COUNT);
+        if (bucket == OTHER_LETTERS) {
+            return Utils.GROUP_OTHER_LETTERS;
+        } else if (bucket == NUMBERS) {
+            return Utils.GROUP_NUMBERS;
+        }
+        return String.valueOf((char) (bucket + Utils.ASCII_CASE_FOR_A));
+    }
+
+    /**
+     * Find the bucket of a title.
+     * @param titleKey title in upper case, as returned by BookEntry.getTitleKey
+     * @return number of the bucket
+     */
+    public static int bucketOf(String titleKey) {
+        if (titleKey.isEmpty()) {
+            return NUMBERS;
+        }
+        char initial = titleKey.charAt(0);
+        if (initial >= Utils.ASCII_CASE_FOR_A && initial <= Utils.ASCII_CASE_FOR_Z) {
+            return initial - Utils.ASCII_CASE_FOR_A;
+        }
+        if (initial < 0x80 || !Character.isLetter(titleKey.codePointAt(0))) {
+            return NUMBERS;
+        }
+
+        String first = titleKey.substring(0, Character.charCount(titleKey.codePointAt(0)));
+        char base = Normalizer.normalize(first, Normalizer.Form.NFD).charAt(0);
+        if (base >= Utils.ASCII_CASE_FOR_A && base <= Utils.ASCII_CASE_FOR_Z) {
+            return base - Utils.ASCII_CASE_FOR_A;
+        }
+        return OTHER_LETTERS;
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Substring index over the title keys of the loaded books, which are the
+ * titles in upper case.
+ *
+ * Every book is added with a sequence number, which must grow with every
+ * added book, so ordering by sequence number keeps the order of the library.
+ * The index keeps a posting list of sequence numbers for every trigram (three
+ * consecutive characters) of the upper case titles. A search term of at least
+ * three characters only has to check the books in the shortest posting list
+ * of its trigrams, shorter terms are checked against all stored titles without
+ * converting them to upper case again.
+ *
+ * Removed books leave an empty slot behind, which is skipped while searching
+ * until the index is cleared and built again.
+ *
+ * Searching only reads the index, so the titles of a search can be checked
+ * by several threads at once, as long as no books are added or removed.
+ */
+public final class TitleSearchIndex {
+
+    /** Number of characters of the indexed substrings. */
+    private static final int GRAM_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Number of titles of the smallest range checked as a task of its own. */
+    private static final int RANGE_TITLES = 16 * 1024;
+
+    /** Books by sequence number, null for removed books and unused numbers. */
+    private BookEntry[] books;
+    /** Title keys by sequence number. */
+    private String[] keys;
+    /** Next sequence number that may be added. */
+    private int limit;
+    private final Map<Long, PostingList> postings;
+
+    /** Create a new and empty index. */
+    public TitleSearchIndex() {
+        books = new BookEntry[INITIAL_CAPACITY];
+        keys = new String[INITIAL_CAPACITY];
+        limit = 0;
+        postings = new HashMap<>();
+    }
+
+    /**
+     * Add a book to the index.
+     *
+     * @param sequence sequence number of the book, greater than all numbers added before
+     * @param book book to be added
+     * @throws IllegalArgumentException if the sequence number is not greater than all numbers added before
+     * @throws NullPointerException if the given book is null
+     */
+    public void add(int sequence, BookEntry book) {
+        Objects.requireNonNull(book, "Given book must not be null.");
+        if (sequence < limit) {
+            throw new IllegalArgumentException("Sequence number " + sequence + " has been used before.");
+        }
+        if (sequence >= books.length) {
+            int capacity = Math.max(sequence + 1, books.length * 2);
+            books = Arrays.copyOf(books, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+
+        String key = book.getTitleKey();
+        books[sequence] = book;
+        keys[sequence] = key;
+        limit = sequence + 1;
+
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            postings.computeIfAbsent(gram(key, i), k -> new PostingList()).addOnce(sequence);
+        }
+    }
+
+    /**
+     * Remove the book with the given sequence number from the index.
+     *
+     * @param sequence sequence number of the book
+     */
+    public void remove(int sequence) {
+        if (sequence >= 0 && sequence < limit) {
+            books[sequence] = null;
+            keys[sequence] = null;
+        }
+    }
+
+    /** Remove all books from the index. Sequence numbers may be used again afterwards. */
+    public void clear() {
+        books = new BookEntry[INITIAL_CAPACITY];
+        keys = new String[INITIAL_CAPACITY];
+        limit = 0;
+        postings.clear();
+    }
+
+    /**
+     * Find all books whose title key contains the given term.
+     *
+     * @param upperCaseTerm search term, already converted with BookEntry.normalize
+     * @return books containing the term in the order of their sequence numbers
+     * @throws NullPointerException if the given term is null
+     */
+    public List<BookEntry> search(String upperCaseTerm) {
+        return search(upperCaseTerm, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find all books whose title key contains the given term. If at least the
+     * given number of titles has to be checked, they are split into ranges
+     * which are checked in parallel in the common ForkJoin pool, and the hits
+     * of all ranges are joined in order, so the result is the same. A common
+     * pool of a single thread only adds overhead, so it is not used.
+     *
+     * @param upperCaseTerm search term, already converted with BookEntry.normalize
+     * @param parallelThreshold smallest number of checked titles which are checked in parallel
+     * @return books containing the term in the order of their sequence numbers
+     * @throws NullPointerException if the given term is null
+     */
+    public List<BookEntry> search(String upperCaseTerm, int parallelThreshold) {
+        Objects.requireNonNull(upperCaseTerm, "Given term must not be null.");
+
+        int[] candidates = null;
+        int candidateCount = limit;
+        if (upperCaseTerm.length() >= GRAM_LENGTH) {
+            PostingList shortest = shortestPostingList(upperCaseTerm);
+            if (shortest == null) {
+                return new ArrayList<>();
+            }
+            candidates = shortest.sequences;
+            candidateCount = shortest.size;
+        }
+
+        if (candidateCount >= parallelThreshold && candidateCount > RANGE_TITLES
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return ForkJoinPool.commonPool().invoke(new RangeSearch(upperCaseTerm, candidates, 0, candidateCount));
+        }
+        List<BookEntry> found = new ArrayList<>();
+        collectRange(upperCaseTerm, candidates, 0, candidateCount, found);
+        return found;
+    }
+
+    /**
+     * Check a range of candidates, which are positions in the given sequence
+     * numbers or, if there are none, sequence numbers themselves.
+     */
+    private void collectRange(String term, int[] candidates, int from, int to, List<BookEntry> found) {
+        for (int i = from; i < to; i++) {
+            collect(candidates == null ? i : candidates[i], term, found);
+        }
+    }
+
+    /**
+     * Find the shortest posting list of all trigrams of the term.
+     * @return shortest posting list or null if a trigram of the term is not indexed
+     */
+    private PostingList shortestPostingList(String term) {
+        PostingList shortest = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            PostingList list = postings.get(gram(term, i));
+            if (list == null) {
+                return null;
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        return shortest;
+    }
+
+    private void collect(int sequence, String term, List<BookEntry> found) {
+        String key = keys[sequence];
+        if (key != null && key.contains(term)) {
+            found.add(books[sequence]);
+        }
+    }
+
+    /** Pack the three characters starting at the given position into one number. */
+    private static long gram(String key, int start) {
+        return ((long) key.charAt(start) << 32) | ((long) key.charAt(start + 1) << 16) | key.charAt(start + 2);
+    }
+
+    /**
+     * ForkJoin task checking a range of candidates. Ranges are split in halves
+     * until they are small enough, the hits of both halves are joined in order.
+     */
+    private final class RangeSearch extends RecursiveTask<List<BookEntry>> {
+        private static final long serialVersionUID = 1L;
+
+        private final String term;
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+
+        private RangeSearch(String term, int[] candidates, int from, int to) {
+            this.term = term;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<BookEntry> compute() {
+            if (to - from <= RANGE_TITLES) {
+                List<BookEntry> found = new ArrayList<>();
+                collectRange(term, candidates, from, to, found);
+                return found;
+            }
+            int middle = (from + to) >>> 1;
+            RangeSearch left = new RangeSearch(term, candidates, from, middle);
+            RangeSearch right = new RangeSearch(term, candidates, middle, to);
+            left.fork();
+            List<BookEntry> rightFound = right.compute();
+            List<BookEntry> found = left.join();
+            found.addAll(rightFound);
+            return found;
+        }
+    }
+
+    /** Growable list of ascending sequence numbers. */
+    private static final class PostingList {
+        private int[] sequences = new int[2];
+        private int size;
+
+        /** Append a sequence number unless it is already the last one of the list. */
+        private void addOnce(int sequence) {
+            if (size > 0 && sequences[size - 1] == sequence) {
+                return;
+            }
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size * 2);
+            }
+            sequences[size++] = sequence;
+        }
+    }
+}
@@ -39,6 +39,32 @@ public class Utils {
      *  String which determines the number of decimals of a book ratings in the function transformRating used to create the toString function in BookEntry class
      */
     public static final String NUMBER_OF_DECIMALS_FORMAT = "%.2f";
+    /**
+     *  String which determines how the ADD command reports the number of rows loaded and the rows per second
+     */
+    public static final String LOAD_THROUGHPUT_FORMAT = "%d rows loaded in %.3f s (%d rows/s).";
+    /**
+     *  Strings which determine how the MEMORY command reports the shared titles and authors
+     */
+    public static final String MEMORY_DICTIONARY_FORMAT = "%d distinct titles and authors for %d references.";
+    public static final String MEMORY_BYTES_FORMAT = "Estimated string memory: %d bytes, dictionary overhead: %d bytes.";
+    public static final String MEMORY_SAVED_FORMAT = "Estimated memory saved by shared strings: %d bytes (net %d bytes).";
+    public static final String MEMORY_COLUMNS_FORMAT = "Column store (scan copy next to the book entries): %d bytes for %d books.";
+    /**
+     *  Formats of the timing report printed at the end of a batch script
+     */
+    public static final String BATCH_TIMING_HEADER = "Command timing:";
+    public static final String BATCH_MILLIS = "ms  ";
+    public static final String BATCH_TOTAL_FORMAT = "%d commands in %.3f ms, wall time %.3f ms.";
+    /**
+     *  Formats of the command latencies printed by METRICS, times in milliseconds
+     */
+    public static final String METRICS_FORMAT = "%s: %d runs, total %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms";
+    public static final String METRICS_NONE = "No commands have been run yet.";
+    /**
+     *  Format of the message printed once the library is served over HTTP
+     */
+    public static final String SERVER_STARTED_FORMAT = "Serving the library on http://localhost:%d/ with %s, files from %s. Stop with Ctrl+C.";
 
 
     /** __________________________________ COMMON STRINGS USED__________________________________ */
@@ -71,10 +97,76 @@ public class Utils {
      *  String used in ListCmd as an accepted command
      */
     public static final String LONG = "long";
+    /**
+     *  Strings used in ListCmd to select the page of books which is listed
+     */
+    public static final String LIMIT = "limit";
+    public static final String OFFSET = "offset";
+    public static final String CURSOR = "cursor";
+    /**
+     *  Strings used in ListCmd to select the order of the books which are listed
+     */
+    public static final String SORT = "sort";
+    public static final String ASCENDING = "asc";
+    public static final String DESCENDING = "desc";
+    /**
+     *  Separator of the parts of a LIST cursor
+     */
+    public static final String CURSOR_SEPARATOR = "-";
+    /**
+     *  Strings which determine how a page of a LIST is reported
+     */
+    public static final String LIST_PAGE_FORMAT = "Showing books %d to %d.";
+    public static final String LIST_CONTINUE_FORMAT = " Continue with: LIST %s%s %s %s";
+    public static final String LIST_PAGE_EMPTY_FORMAT = "No books at offset %d.";
+    public static final String ERROR_STALE_CURSOR = "ERROR: The cursor is no longer valid because the library has changed, please start the listing again.";
+    /**
+     *  Fields and operators of the conditions accepted by FilterCmd
+     */
+    public static final String RATING = "rating";
+    public static final String PAGES = "pages";
+    public static final String FILTER_AUTHOR = "author=";
+    public static final String FILTER_CONDITION_PATTERN = "(rating|pages)(<=|>=|<|>|=)(\\S+)";
+    /**
+     *  Strings which determine how the FILTER command reports the matching books
+     */
+    public static final String FILTER_FOUND_FORMAT = "%d books match the filter:";
+    public static final String FILTER_NOT_FOUND = "No books match the filter: ";
+    /**
+     *  Strings used in StatsCmd to select how the statistics are grouped
+     */
+    public static final String BY = "BY";
+    public static final String LETTER = "LETTER";
+    /**
+     *  Strings which determine how the STATS command reports the statistics
+     */
+    public static final String STATS_COUNT_FORMAT = "%d books in library.";
+    public static final String STATS_RATING_FORMAT = "Rating: mean %.2f, min %.2f, max %.2f";
+    public static final String STATS_PAGES_FORMAT = "Pages: total %d, median %.1f";
+    public static final String STATS_TOP_AUTHORS = "Top authors:";
+    public static final String STATS_TOP_AUTHOR_FORMAT = "%s (%d books)";
+    public static final String STATS_GROUP_FORMAT = "%d books, rating mean %.2f, min %.2f, max %.2f, pages total %d, median %.1f";
+    /**
+     *  String used in AddCmd to request a parallel load of the file
+     */
+    public static final String PARALLEL = "PARALLEL";
+    /**
+     *  Command line options of the program which run a script file or the standard input in batch mode
+     */
+    public static final String SCRIPT_OPTION = "--script";
+    public static final String BATCH_OPTION = "--batch";
+    /**
+     *  Command line option of the program which serves the library over HTTP, optionally followed by the port
+     */
+    public static final String SERVE_OPTION = "--serve";
     /**
      *  String used in Group for those books that start with numbers
      */
     public static final String GROUP_NUMBERS = "[0-9]";
+    /**
+     *  String used in Group for those books that start with a letter which is not a Latin letter
+     */
+    public static final String GROUP_OTHER_LETTERS = "[Other letters]";
 
     /** __________________________________ LOGIC CONSTANTS__________________________________ */
 
@@ -82,10 +174,6 @@ public class Utils {
      *  Integer which is equal to the length of the full alphabet
      */
     public static final int ALPHABET_LENGTH = 26;
-    /**
-     *  Integer which is equal to the number of the groups which organize titles with numeric values
-     */
-    public static final int GROUP_OF_NUMBERS = 1;
     /**
      *  Integer which is equal to the ascii value of the letter "A"
      */
@@ -94,6 +182,47 @@ public class Utils {
      *  Integer which is equal to the ascii value of the letter "Z"
      */
     public static final int ASCII_CASE_FOR_Z = 90;
+    /**
+     *  Number of nanoseconds in a second, used to turn measured times into rates
+     */
+    public static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    /**
+     *  Number of nanoseconds in a millisecond, used to report measured times
+     */
+    public static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+    /**
+     *  Number of titles a SEARCH has to check from which they are checked in parallel. It can be
+     *  changed with the system property library.search.parallelThreshold
+     */
+    public static final int SEARCH_PARALLEL_THRESHOLD = Integer.getInteger("library.search.parallelThreshold", 100_000);
+    /**
+     *  Number of books from which FILTER scans the library in parallel. It can be changed
+     *  with the system property library.filter.parallelThreshold
+     */
+    public static final int FILTER_PARALLEL_THRESHOLD = Integer.getInteger("library.filter.parallelThreshold", 500_000);
+    /**
+     *  Number of books from which STATS computes its statistics in parallel. It can be changed
+     *  with the system property library.stats.parallelThreshold
+     */
+    public static final int STATS_PARALLEL_THRESHOLD = Integer.getInteger("library.stats.parallelThreshold", 100_000);
+    /**
+     *  Number of authors with the most books reported by STATS
+     */
+    public static final int STATS_TOP_AUTHORS_COUNT = 5;
+    /**
+     *  True if the command latencies are printed when the library browser exits. It can be
+     *  turned on with the system property library.metrics.onExit=true
+     */
+    public static final boolean METRICS_ON_EXIT = Boolean.getBoolean("library.metrics.onExit");
+    /**
+     *  Port the library is served on if the option --serve is not followed by a port
+     */
+    public static final int DEFAULT_SERVER_PORT = 8080;
+    /**
+     *  Directory the files loaded through the HTTP endpoint /add are resolved against. It can be
+     *  changed with the system property library.server.dataDir
+     */
+    public static final String SERVER_DATA_DIRECTORY = System.getProperty("library.server.dataDir", ".");
 
     /** __________________________________ ERROR MESSAGES __________________________________ */
 
@@ -129,6 +258,13 @@ public class Utils {
      *  Error string used in all the execute functions
      */
     public static final String ERROR_DATA_NULL = "ERROR, data cannot be null";
+    /**
+     *  Error messages of the command line options of the program
+     */
+    public static final String ERROR_USAGE = "ERROR: Usage: Main [--script <file> | --batch | --serve [port]]";
+    public static final String ERROR_SCRIPT_READ = "ERROR: Script could not be read: ";
+    public static final String ERROR_OUTPUT_WRITE = "ERROR: Output could not be written: ";
+    public static final String ERROR_SERVER_START = "ERROR: The library could not be served: ";
 
 
 
@@ -142,13 +278,26 @@ public class Utils {
      *  a feedback message to the user if there are no books loaded in the program.
      *
      * @param data contains all the information that has been loaded into the program.
+     * @param out output of the command the message is printed to.
      */
-    protected static void emptyDataWarning (LibraryData data) {
+    protected static void emptyDataWarning (LibraryData data, CommandOutput out) {
         if (data.getBookData().isEmpty()) {
-            System.out.println(Utils.THE_LIBRARY_HAS_NO_BOOK_ENTRIES + Utils.PLEASE_IMPORT_LIBRARY);
+            out.println(Utils.THE_LIBRARY_HAS_NO_BOOK_ENTRIES + Utils.PLEASE_IMPORT_LIBRARY);
         }
     }
 
+    /** ______________________________ HELPERS LIBRARY DATA CLASS ______________________________ */
+    /** Helper function which prints how fast the rows of a book data file were loaded.
+     *
+     * @param rows number of rows parsed from the file
+     * @param elapsedNanos time it took to read, parse and merge all rows
+     */
+    protected static void printLoadThroughput (long rows, long elapsedNanos) {
+        double seconds = elapsedNanos / NANOS_PER_SECOND;
+        long rowsPerSecond = seconds > 0 ? Math.round(rows / seconds) : rows;
+        System.out.println(String.format(Utils.LOAD_THROUGHPUT_FORMAT, rows, seconds, rowsPerSecond));
+    }
+
     /** ______________________________ HELPERS BOOK ENTRY CLASS ______________________________ */
     /** This function is in charged of transforming the authors array to be printed in the toString function
      *
@@ -173,23 +322,30 @@ public class Utils {
     }
 
     /** _______________________________ HELPERS SEARCH CMD CLASS _____________________________ */
-    /** Helper function which does the search on the list of books, checking word by word
-     *  Transforming everything to Upper case, in order to make it case insensitive.
+    /** Helper function which does the search on the titles of the books, comparing
+     *  the upper case title keys of the books, in order to make it case insensitive.
+     *  The titles are looked up in the substring index of the library instead of
+     *  scanning all the books, the results keep the order of the library.
      *  The results are added to booksFound list.
      *
-     * @param list_of_books takes the list with all the books loaded.
+     * @param data contains all the information that has been loaded into the program.
      * @param booksFound the list which contains just the books that satisfy
      *                   the search.
-     */
-    protected static void searchBooks(List<BookEntry> list_of_books, List<String> booksFound, String searchedTitle) {
-        Iterator<BookEntry> titlesIterator = list_of_books.iterator();
-
-        while (titlesIterator.hasNext()) {
-            String title = titlesIterator.next().getTitle();
-            String workTitle = title.toUpperCase();
-            if (workTitle.contains(searchedTitle)) {
-                booksFound.add(title);
-            }
+     * @param searchedTitle the search term in upper case.
+     */
+    protected static void searchBooks(LibraryData data, List<String> booksFound, String searchedTitle) {
+        LibraryEvents.Search event = new LibraryEvents.Search();
+        event.begin();
+        List<BookEntry> hits = data.searchTitles(searchedTitle);
+        for (BookEntry book : hits) {
+            booksFound.add(book.getTitle());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.term = searchedTitle;
+            event.hits = hits.size();
+            event.librarySize = data.getBookData().size();
+            event.commit();
         }
     }
 
@@ -200,11 +356,12 @@ public class Utils {
      *  been eliminated and at the same time, that remover is the one in
      *  charge of removing them.
      *
-     * @param list_of_books takes the list with all the books loaded.
+     * @param data contains all the information that has been loaded into the program.
      * @param typeRemove it is always equal to AUTHOR or TITLE and it determines
      *                   which eliminating method is used.
+     * @param out output of the command the results are printed to.
      */
-    protected static void generalRemove (List<BookEntry> list_of_books, String typeRemove, String argumentInput) {
+    protected static void generalRemove (LibraryData data, String typeRemove, String argumentInput, CommandOutput out) {
         String removeReferenceString = "";
         String cleanArgument;
         int counter = 0;
@@ -221,47 +378,38 @@ public class Utils {
         }
 
         cleanArgument = argumentInput.strip().substring(removeReferenceString.length()).strip();
-        counter = Utils.remover(list_of_books, typeRemove, cleanArgument, counter);
-        Utils.printerOfResults(typeRemove, cleanArgument.strip(), counter);
+        counter = Utils.remover(data, typeRemove, cleanArgument, counter, out);
+        Utils.printerOfResults(typeRemove, cleanArgument.strip(), counter, out);
     }
 
     /** Helper function which searches and eliminates depending on the type of removed that it is
-     *  asked (TITLE or AUTHOR).
+     *  asked (TITLE or AUTHOR). Books are looked up in the title and author indexes of
+     *  the library and removed through it, so that its indexes stay up to date.
      *
-     * @param list_of_books takes the list with all the books loaded.
+     * @param data contains all the information that has been loaded into the program.
      * @param typeRemove it is always equal to AUTHOR or TITLE and it determines
      *                   which eliminating method is used.
      * @param cleanArgument takes the cleaned title of the book which
      *                   is going to be eliminated.
      * @param counter this is the number of books that have been eliminated.
-
+     * @param out output of the command the results are printed to.
      * @return the number of books that have been eliminated and updates
      *                   the list of books loaded.
      */
-    private static int remover (List<BookEntry> list_of_books, String typeRemove, String cleanArgument, int counter) {
-        Iterator<BookEntry> removerFromListOfBooks = list_of_books.iterator();
+    private static int remover (LibraryData data, String typeRemove, String cleanArgument, int counter, CommandOutput out) {
+        LibraryEvents.Remove event = new LibraryEvents.Remove();
+        event.begin();
+        int counterBefore = counter;
         switch (typeRemove) {
             case Utils.TITLE:
-                while (removerFromListOfBooks.hasNext()) {
-                    if (cleanArgument.equals(removerFromListOfBooks.next().getTitle())) {
-                        removerFromListOfBooks.remove();
-                        System.out.printf(cleanArgument + ": removed successfully.");
-                        counter++;
-                        break;
-                    }
+                if (data.removeByTitle(cleanArgument) != null) {
+                    out.print(cleanArgument + ": removed successfully.");
+                    counter++;
                 }
                 break;
 
             case Utils.AUTHOR:
-                while (removerFromListOfBooks.hasNext()) {
-                    String[] authors = removerFromListOfBooks.next().getAuthors();
-                    for (int k = 0; k < authors.length; k++) {
-                        if (cleanArgument.equals(authors[k])) {
-                            removerFromListOfBooks.remove();
-                            counter++;
-                        }
-                    }
-                }
+                counter += data.removeByAuthor(cleanArgument);
                 break;
 
             default:
@@ -269,6 +417,13 @@ public class Utils {
 
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = typeRemove;
+            event.value = cleanArgument;
+            event.removed = counter - counterBefore;
+            event.commit();
+        }
         return counter;
     }
 
@@ -279,23 +434,24 @@ public class Utils {
      * @param cleanArgument takes the cleaned title of the book which
      *                   is going to be eliminated.
      * @param counter this is the number of books that have been eliminated.
+     * @param out output of the command the results are printed to.
      */
-    private static void printerOfResults(String typeRemove, String cleanArgument, int counter) {
+    private static void printerOfResults(String typeRemove, String cleanArgument, int counter, CommandOutput out) {
         /** ____________________ PRINTING THE RESULTS ____________________ */
         if (counter == 0) {
             switch (typeRemove) {
                 case Utils.TITLE:
-                    System.out.println(cleanArgument + ": not found.");
+                    out.println(cleanArgument + ": not found.");
                     break;
                 case Utils.AUTHOR:
-                    System.out.printf("0 books removed for author: " + cleanArgument);
+                    out.print("0 books removed for author: " + cleanArgument);
                     break;
 
                 default:
                     throw new IllegalArgumentException(Utils.ERROR_ILLEGAL);
             }
         } else if (typeRemove.equals(Utils.AUTHOR)) {
-            System.out.println(counter + " books removed for author: " + cleanArgument);
+            out.println(counter + " books removed for author: " + cleanArgument);
         }
     }
 
@@ -303,14 +459,16 @@ public class Utils {
     /**
      * Helper function which is in charged of printing the initial messages used in the
      * Group by command.
+     *
+     * @param out output of the command the message is printed to.
      */
-    protected static void printInitialGroupMessage(String argumentInput) {
+    protected static void printInitialGroupMessage(String argumentInput, CommandOutput out) {
         switch (argumentInput) {
             case Utils.TITLE:
-                System.out.println(Utils.GROUP_BY + Utils.TITLE);
+                out.println(Utils.GROUP_BY + Utils.TITLE);
                 break;
             case Utils.AUTHOR:
-                System.out.println(Utils.GROUP_BY + Utils.AUTHOR);
+                out.println(Utils.GROUP_BY + Utils.AUTHOR);
                 break;
 
             default:
@@ -322,109 +480,90 @@ public class Utils {
     /** Helper function which is in charged of managing the Group process of the list
      *  depending on the type of grouping that is being done (determined by the typeCommand).
      *
-     * @param list_of_books takes the list with all the books loaded.
-     * @param typeCommand determines the type of group that is being done (TITLE or AUTHOR)
-     */
-    protected static void mainGroup (List<BookEntry> list_of_books, String typeCommand, List<List<String>> list_of_titles) {
-
-        List<String> list_of_authors = new ArrayList<>();
-        List<List<String>> list_of_authors_and_titles = new ArrayList<>();
-
-        Utils.classifier(list_of_books,list_of_authors, typeCommand, list_of_titles);
-
-        if (typeCommand.equals(Utils.AUTHOR)) {
-            Collections.sort(list_of_authors);
-            for (int i = 0; i < list_of_authors.size(); i++) {
-                list_of_authors_and_titles.add(new ArrayList<>());
-            }
-        }
-
-        Utils.printGroupResults(list_of_books, list_of_authors, list_of_authors_and_titles, typeCommand, list_of_titles);
-    }
-
-    /** Helper function which is in charged of classifying or ordering the titles by
-     *  alphabetical order or by author.
-     *
-     * @param list_of_books takes the list with all the books loaded.
-     * @param list_of_authors takes the list of all the authors of the library
+     * @param data contains all the information that has been loaded into the program.
      * @param typeCommand determines the type of group that is being done (TITLE or AUTHOR)
+     * @param out output of the command the groups are printed to.
      */
-    private static void classifier (List<BookEntry> list_of_books, List<String> list_of_authors, String typeCommand,
-                                    List<List<String>> list_of_titles) {
-        switch (typeCommand){
+    protected static void mainGroup (LibraryData data, String typeCommand, CommandOutput out) {
+        LibraryEvents.Group event = new LibraryEvents.Group();
+        event.begin();
+        switch (typeCommand) {
             case Utils.TITLE:
-                for (int i = 0; i < list_of_books.size(); i++) {
-                    String title = list_of_books.get(i).getTitle();
-                    if ((int) title.toUpperCase().charAt(0) >= Utils.ASCII_CASE_FOR_A && (int) title.toUpperCase().charAt(0) <= Utils.ASCII_CASE_FOR_Z) {
-                        list_of_titles.get((int)title.toUpperCase().charAt(0)- Utils.ASCII_CASE_FOR_A).add(title);
-                    } else {
-                        list_of_titles.get(list_of_titles.size()-Utils.GROUP_OF_NUMBERS).add(title);
-                    }
-                }
+                Utils.printTitleGroups(data, out);
                 break;
 
             case Utils.AUTHOR:
-                for (int i = 0; i < list_of_books.size(); i++) {
-                    for (int k = 0; k < list_of_books.get(i).getAuthors().length; k++) {
-                        if (!list_of_authors.contains(list_of_books.get(i).getAuthors()[k])) {
-                            list_of_authors.add(list_of_books.get(i).getAuthors()[k]);
-                        }
-                    }
-                }
+                Utils.printAuthorGroups(data.getBooksByAuthor(), out);
                 break;
 
             default:
                 throw new IllegalArgumentException(Utils.ERROR_ILLEGAL);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = typeCommand;
+            Utils.countGroups(data, typeCommand, event);
+            event.commit();
+        }
     }
 
-    /** Helper function which is in charged of printing all the Group results after being
-     *  classified.
+    /** Helper function which counts the groups and the titles in them for a recorded group event,
+     *  the same way they are printed.
      *
-     * @param list_of_books takes the list with all the books loaded.
-     * @param list_of_authors takes the list of all the authors of the library
-     * @param list_of_authors_and_titles takes the list of all the titles organized by author (2 dimension list)
+     * @param data contains all the information that has been loaded into the program.
      * @param typeCommand determines the type of group that is being done (TITLE or AUTHOR)
-     */
-    private static void printGroupResults(List<BookEntry> list_of_books, List<String> list_of_authors,
-                                          List<List<String>> list_of_authors_and_titles, String typeCommand,
-                                          List<List<String>> list_of_titles) {
-        switch (typeCommand) {
-
-            case Utils.TITLE:
-                for (int i = 0; i < list_of_titles.size(); i++) {
-                    if (!list_of_titles.get(i).isEmpty()) {
-                        if (i < (list_of_titles.size() - Utils.GROUP_OF_NUMBERS)) {
-                            System.out.println(Utils.GROUP_HASH + (char) (i + Utils.ASCII_CASE_FOR_A));
-                            for (int k = 0; k < list_of_titles.get(i).size(); k++) {
-                                System.out.println(Utils.SPACING_FOR_GROUPING + list_of_titles.get(i).get(k));
-                            }
-                        } else {
-                            System.out.println(Utils.GROUP_HASH + Utils.GROUP_NUMBERS);
-                            for (int k = 0; k < list_of_titles.get(i).size(); k++) {
-                                System.out.println(Utils.SPACING_FOR_GROUPING + list_of_titles.get(i).get(k));
-                            }
-                        }
-                    }
-                }
-                break;
+     * @param event group event the counts are set on.
+     */
+    private static void countGroups(LibraryData data, String typeCommand, LibraryEvents.Group event) {
+        if (typeCommand.equals(Utils.TITLE)) {
+            for (int i = 0; i < TitleBuckets.BUCKET_COUNT; i++) {
+                int size = data.getTitleBucket(i).size();
+                event.groups += size > 0 ? 1 : 0;
+                event.books += size;
+            }
+        } else {
+            for (Set<BookEntry> books : data.getBooksByAuthor().values()) {
+                event.groups++;
+                event.books += books.size();
+            }
+        }
+    }
 
-            case Utils.AUTHOR:
-                for (int i = 0; i < list_of_authors_and_titles.size(); i++){
-                    String author = list_of_authors.get(i);
-                    System.out.println(Utils.GROUP_HASH + author);
-                    for (int k = 0; k < list_of_books.size(); k++) {
-                        if (Arrays.asList(list_of_books.get(k).getAuthors()).contains(author)) {
-                            // SAVING THE TITLES IN ORDER IN THE LIST OF AUTHORS AND TITLES
-                            list_of_authors_and_titles.get(i).add(list_of_books.get(k).getTitle());
-                            System.out.println(Utils.SPACING_FOR_GROUPING + list_of_books.get(k).getTitle());
-                        }
-                    }
+    /** Helper function which is in charged of printing the titles grouped by the first letter
+     *  of the title. It walks the title buckets of the library, which are kept up to date while
+     *  books are added and removed, so no title has to be classified again.
+     *
+     * @param data contains all the information that has been loaded into the program.
+     * @param out output of the command the groups are printed to.
+     */
+    private static void printTitleGroups(LibraryData data, CommandOutput out) {
+        for (int i = 0; i < TitleBuckets.BUCKET_COUNT; i++) {
+            List<BookEntry> bucket = data.getTitleBucket(i);
+            if (!bucket.isEmpty()) {
+                out.println(Utils.GROUP_HASH + TitleBuckets.labelOf(i));
+                for (BookEntry book : bucket) {
+                    out.print(Utils.SPACING_FOR_GROUPING);
+                    out.println(book.getTitle());
                 }
-                break;
+            }
+        }
+    }
 
-            default:
-                throw new IllegalArgumentException(Utils.ERROR_ILLEGAL);
+    /** Helper function which is in charged of printing the titles grouped by author. It walks
+     *  the author index of the library, which is sorted by author and keeps the books of every
+     *  author in the order of the library, so no books have to be searched.
+     *
+     * @param books_by_author books of every author, sorted by author
+     * @param out output of the command the groups are printed to.
+     */
+    private static void printAuthorGroups(SortedMap<String, Set<BookEntry>> books_by_author, CommandOutput out) {
+        for (Map.Entry<String, Set<BookEntry>> author : books_by_author.entrySet()) {
+            out.print(Utils.GROUP_HASH);
+            out.println(author.getKey());
+            for (BookEntry book : author.getValue()) {
+                out.print(Utils.SPACING_FOR_GROUPING);
+                out.println(book.getTitle());
+            }
         }
     }
 